@@ -63,6 +63,28 @@ public class AcousticsLabeledActionFactory {
                                         true );
     }
 
+    public static XAction getFrequencyWeightingChoice( final ClientProperties clientProperties,
+                                                       final String itemName ) {
+        return ActionFactory.makeChoice( clientProperties,
+                                         BUNDLE_NAME,
+                                         "frequencyWeighting",
+                                         itemName,
+                                         null,
+                                         true );
+    }
+
+    public static XAction getFrequencyWeightingZChoice( final ClientProperties clientProperties ) {
+        return getFrequencyWeightingChoice( clientProperties, "zWeighting" );
+    }
+
+    public static XAction getFrequencyWeightingAChoice( final ClientProperties clientProperties ) {
+        return getFrequencyWeightingChoice( clientProperties, "aWeighting" );
+    }
+
+    public static XAction getFrequencyWeightingCChoice( final ClientProperties clientProperties ) {
+        return getFrequencyWeightingChoice( clientProperties, "cWeighting" );
+    }
+
     public static XActionGroup getSplPaletteChoiceGroup( final ClientProperties clientProperties,
                                                          final SplPaletteChoices splPaletteChoices ) {
         final Collection< Action > splPaletteChoiceCollection = splPaletteChoices
@@ -137,6 +159,18 @@ public class AcousticsLabeledActionFactory {
         return getSmoothingChoice( clientProperties, "narrow" );
     }
 
+    public static XAction getSmoothingFortyEighthOctaveChoice( final ClientProperties clientProperties ) {
+        return getSmoothingChoice( clientProperties, "fortyEighthOctave" );
+    }
+
+    public static XAction getSmoothingTwentyFourthOctaveChoice( final ClientProperties clientProperties ) {
+        return getSmoothingChoice( clientProperties, "twentyFourthOctave" );
+    }
+
+    public static XAction getSmoothingTwelfthOctaveChoice( final ClientProperties clientProperties ) {
+        return getSmoothingChoice( clientProperties, "twelfthOctave" );
+    }
+
     public static XAction getSmoothingSixthOctaveChoice( final ClientProperties clientProperties ) {
         return getSmoothingChoice( clientProperties, "sixthOctave" );
     }
@@ -145,6 +179,10 @@ public class AcousticsLabeledActionFactory {
         return getSmoothingChoice( clientProperties, "thirdOctave" );
     }
 
+    public static XAction getSmoothingOneOctaveChoice( final ClientProperties clientProperties ) {
+        return getSmoothingChoice( clientProperties, "oneOctave" );
+    }
+
     public static XAction getDiv1DbChoice( final ClientProperties clientProperties ) {
         return getDivChoice( clientProperties, "div1db" );
     }
@@ -181,6 +219,15 @@ public class AcousticsLabeledActionFactory {
         return getDivChoice( clientProperties, "div30db" );
     }
 
+    public static XAction getAutoFitVerticalZoomCheck( final ClientProperties clientProperties ) {
+        return ActionFactory.makeCheck( clientProperties,
+                                        BUNDLE_NAME,
+                                        "verticalZoom",
+                                        "autoFit",
+                                        null,
+                                        true );
+    }
+
     public static XAction getDivChoice( final ClientProperties clientProperties,
                                         final String itemName ) {
         return ActionFactory
@@ -45,6 +45,40 @@ import java.util.Collection;
  */
 public final class FrequencyAmplitudeVerticalZoomChoices {
 
+    // The available Vertical Grid Spacings, in dB/div, in ascending order.
+    private static final int[] VERTICAL_GRID_SPACINGS = { 1, 2, 3, 6, 10, 12, 15, 20, 30 };
+
+    // The fraction of a finer Vertical Grid Spacing's scale that the data must
+    // fit within before Auto-Fit zooms in, so that small changes in the data
+    // don't make it flip back and forth between neighbouring choices.
+    public static final double AUTO_FIT_ZOOM_IN_FRACTION = 0.75d;
+
+    // Get the finest Vertical Grid Spacing whose scale holds a given span of
+    // levels, holding the current one unless the span no longer fits it or
+    // fits a finer one with room to spare.
+    public static int getAutoFitVerticalGridSpacing( final double levelSpanDb,
+                                                     final int verticalDivisions,
+                                                     final int currentVerticalGridSpacing ) {
+        final double minimumSpacing = levelSpanDb / Math.max( 1, verticalDivisions );
+
+        int fittingSpacing = VERTICAL_GRID_SPACINGS[ VERTICAL_GRID_SPACINGS.length - 1 ];
+        int comfortableSpacing = fittingSpacing;
+        for ( int i = VERTICAL_GRID_SPACINGS.length - 1; i >= 0; i-- ) {
+            final int spacing = VERTICAL_GRID_SPACINGS[ i ];
+            if ( spacing >= minimumSpacing ) {
+                fittingSpacing = spacing;
+            }
+            if ( ( spacing * AUTO_FIT_ZOOM_IN_FRACTION ) >= minimumSpacing ) {
+                comfortableSpacing = spacing;
+            }
+        }
+
+        if ( currentVerticalGridSpacing < fittingSpacing ) {
+            return fittingSpacing;
+        }
+        return Math.min( currentVerticalGridSpacing, comfortableSpacing );
+    }
+
     // Declare all of the Vertical Zoom choices.
     public XAction      _div1dbChoice;
     public XAction      _div2dbChoice;
@@ -59,6 +93,10 @@ public final class FrequencyAmplitudeVerticalZoomChoices {
     // Cache the associated choice group, for ease of overall enablement.
     public XActionGroup _frequencyAmplitudeVerticalZoomChoiceGroup;
 
+    // Declare the Auto-Fit check, which is not part of the choice group as it
+    // drives the choices rather than being one of them.
+    public XAction      _autoFitCheck;
+
     // Default constructor
     @SuppressWarnings("nls")
     public FrequencyAmplitudeVerticalZoomChoices( final ClientProperties clientProperties ) {
@@ -71,6 +109,8 @@ public final class FrequencyAmplitudeVerticalZoomChoices {
         _div15dbChoice = AcousticsLabeledActionFactory.getDiv15DbChoice( clientProperties );
         _div20dbChoice = AcousticsLabeledActionFactory.getDiv20DbChoice( clientProperties );
         _div30dbChoice = AcousticsLabeledActionFactory.getDiv30DbChoice( clientProperties );
+        _autoFitCheck = AcousticsLabeledActionFactory
+                .getAutoFitVerticalZoomCheck( clientProperties );
 
         final Collection< Action > frequencyAmplitudeVerticalZoomChoiceCollection = Arrays
                 .asList( _div1dbChoice,
@@ -131,8 +171,17 @@ public final class FrequencyAmplitudeVerticalZoomChoices {
         }
     }
 
+    public boolean isAutoFit() {
+        return _autoFitCheck.isSelected();
+    }
+
+    public void setAutoFit( final boolean autoFit ) {
+        _autoFitCheck.setSelected( autoFit );
+    }
+
     public void setDisabled( final boolean disabled ) {
         _frequencyAmplitudeVerticalZoomChoiceGroup.setDisabled( disabled );
+        _autoFitCheck.setDisabled( disabled );
     }
 
     // Sync up the Vertical Zoom choice with the current Vertical Grid Spacing
@@ -30,6 +30,7 @@
  */
 package com.mhschmieder.fxacousticscontrols.action;
 
+import com.mhschmieder.fxacousticscontrols.model.FrequencyBinIndex;
 import com.mhschmieder.fxcontrols.action.ActionFactory;
 import com.mhschmieder.fxcontrols.action.XAction;
 import com.mhschmieder.fxcontrols.action.XActionGroup;
@@ -52,6 +53,84 @@ public final class FrequencyRangeHorizontalZoomChoices {
     public static final int ZOOM_MID_FREQ      = ZOOM_LOW_MID_FREQ + 1;
     public static final int ZOOM_MID_HIGH_FREQ = ZOOM_MID_FREQ + 1;
     public static final int ZOOM_HIGH_FREQ     = ZOOM_MID_HIGH_FREQ + 1;
+    public static final int NUMBER_OF_ZOOMS    = ZOOM_HIGH_FREQ + 1;
+
+    // Get the lowest visible frequency, in Hz, for the Horizontal Zoom choices.
+    public static double getMinimumFrequency( final int frequencyRangeHorizontalZoomIndex ) {
+        double minimumFrequency = 10.0d;
+
+        switch ( frequencyRangeHorizontalZoomIndex ) {
+        case ZOOM_FULL_RANGE:
+            minimumFrequency = 10.0d;
+            break;
+        case ZOOM_LOW_FREQ:
+            minimumFrequency = 14.0d;
+            break;
+        case ZOOM_LOW_MID_FREQ:
+            minimumFrequency = 60.0d;
+            break;
+        case ZOOM_MID_FREQ:
+            minimumFrequency = 200.0d;
+            break;
+        case ZOOM_MID_HIGH_FREQ:
+            minimumFrequency = 600.0d;
+            break;
+        case ZOOM_HIGH_FREQ:
+            minimumFrequency = 2000.0d;
+            break;
+        default:
+            break;
+        }
+
+        return minimumFrequency;
+    }
+
+    // Get the highest visible frequency, in Hz, for the Horizontal Zoom choices.
+    public static double getMaximumFrequency( final int frequencyRangeHorizontalZoomIndex ) {
+        double maximumFrequency = 20000.0d;
+
+        switch ( frequencyRangeHorizontalZoomIndex ) {
+        case ZOOM_FULL_RANGE:
+            maximumFrequency = 20000.0d;
+            break;
+        case ZOOM_LOW_FREQ:
+            maximumFrequency = 200.0d;
+            break;
+        case ZOOM_LOW_MID_FREQ:
+            maximumFrequency = 600.0d;
+            break;
+        case ZOOM_MID_FREQ:
+            maximumFrequency = 2000.0d;
+            break;
+        case ZOOM_MID_HIGH_FREQ:
+            maximumFrequency = 6000.0d;
+            break;
+        case ZOOM_HIGH_FREQ:
+            maximumFrequency = 20000.0d;
+            break;
+        default:
+            break;
+        }
+
+        return maximumFrequency;
+    }
+
+    // Make a bin index from the Horizontal Zoom choices to the bins of a
+    // response layout, which plots should keep for as long as the layout.
+    public static FrequencyBinIndex makeFrequencyBinIndex( final double[] binFrequencies,
+                                                           final int binCount ) {
+        final double[] minimumFrequencies = new double[ NUMBER_OF_ZOOMS ];
+        final double[] maximumFrequencies = new double[ NUMBER_OF_ZOOMS ];
+        for ( int zoomIndex = 0; zoomIndex < NUMBER_OF_ZOOMS; zoomIndex++ ) {
+            minimumFrequencies[ zoomIndex ] = getMinimumFrequency( zoomIndex );
+            maximumFrequencies[ zoomIndex ] = getMaximumFrequency( zoomIndex );
+        }
+
+        return new FrequencyBinIndex( binFrequencies,
+                                      binCount,
+                                      minimumFrequencies,
+                                      maximumFrequencies );
+    }
 
     // Declare all of the Frequency Range Horizontal Zoom choices.
     public XAction          _zoomFullRangeChoice;
@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.action;
+
+import com.mhschmieder.fxacousticscontrols.model.FrequencyWeighting;
+import com.mhschmieder.fxcontrols.action.ActionFactory;
+import com.mhschmieder.fxcontrols.action.XAction;
+import com.mhschmieder.fxcontrols.action.XActionGroup;
+import com.mhschmieder.jcommons.util.ClientProperties;
+import org.controlsfx.control.action.Action;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * This is a struct-like container for Frequency Weighting choices, which
+ * generalize the Show A-Weighted SPL Values check to the Z, A and C weightings.
+ */
+public final class FrequencyWeightingChoices {
+
+    // Declare all of the Frequency Weighting choices.
+    public XAction      _frequencyWeightingZChoice;
+    public XAction      _frequencyWeightingAChoice;
+    public XAction      _frequencyWeightingCChoice;
+
+    // Cache the associated choice group, for ease of overall enablement.
+    public XActionGroup _frequencyWeightingChoiceGroup;
+
+    // Default constructor
+    @SuppressWarnings("nls")
+    public FrequencyWeightingChoices( final ClientProperties clientProperties ) {
+        _frequencyWeightingZChoice = AcousticsLabeledActionFactory
+                .getFrequencyWeightingZChoice( clientProperties );
+        _frequencyWeightingAChoice = AcousticsLabeledActionFactory
+                .getFrequencyWeightingAChoice( clientProperties );
+        _frequencyWeightingCChoice = AcousticsLabeledActionFactory
+                .getFrequencyWeightingCChoice( clientProperties );
+
+        final Collection< Action > frequencyWeightingChoiceCollection = Arrays
+                .asList( _frequencyWeightingZChoice,
+                         _frequencyWeightingAChoice,
+                         _frequencyWeightingCChoice );
+
+        _frequencyWeightingChoiceGroup = ActionFactory
+                .makeChoiceGroup( clientProperties,
+                                  frequencyWeightingChoiceCollection,
+                                  AcousticsLabeledActionFactory.BUNDLE_NAME,
+                                  "frequencyWeighting",
+                                  null,
+                                  true );
+    }
+
+    public XActionGroup getFrequencyWeightingChoiceGroup() {
+        return _frequencyWeightingChoiceGroup;
+    }
+
+    // Reverse-map the selected choice to its Frequency Weighting.
+    public FrequencyWeighting getFrequencyWeighting() {
+        if ( _frequencyWeightingZChoice.isSelected() ) {
+            return FrequencyWeighting.Z_WEIGHTING;
+        }
+        else if ( _frequencyWeightingAChoice.isSelected() ) {
+            return FrequencyWeighting.A_WEIGHTING;
+        }
+        else if ( _frequencyWeightingCChoice.isSelected() ) {
+            return FrequencyWeighting.C_WEIGHTING;
+        }
+        else {
+            return FrequencyWeighting.defaultValue();
+        }
+    }
+
+    public void setDisabled( final boolean disabled ) {
+        _frequencyWeightingChoiceGroup.setDisabled( disabled );
+    }
+
+    public void setFrequencyWeighting( final FrequencyWeighting frequencyWeighting ) {
+        // Sync up the choices with the current Frequency Weighting value.
+        switch ( frequencyWeighting ) {
+        case Z_WEIGHTING:
+            _frequencyWeightingZChoice.setSelected( true );
+            break;
+        case A_WEIGHTING:
+            _frequencyWeightingAChoice.setSelected( true );
+            break;
+        case C_WEIGHTING:
+            _frequencyWeightingCChoice.setSelected( true );
+            break;
+        default:
+            // NOTE: Theoretically impossible case.
+            break;
+        }
+    }
+}
@@ -30,6 +30,8 @@
  */
 package com.mhschmieder.fxacousticscontrols.action;
 
+import com.mhschmieder.fxacousticscontrols.model.SplPaletteTable;
+import com.mhschmieder.fxacousticscontrols.model.SplPaletteTables;
 import com.mhschmieder.fxcontrols.action.XAction;
 import com.mhschmieder.jacoustics.SplPaletteResolution;
 import com.mhschmieder.jcommons.util.ClientProperties;
@@ -37,6 +39,7 @@ import org.controlsfx.control.action.Action;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.function.DoubleToIntFunction;
 
 /**
  * This is a struct-like container for generic SPL Palette choices, generally
@@ -77,6 +80,43 @@ public final class SplPaletteChoices {
         return splPaletteChoiceCollection;
     }
 
+    // Reverse-map the selected choice to its SPL Palette Resolution.
+    public SplPaletteResolution getSplPaletteResolution() {
+        if ( _splPaletteColors256Choice.isSelected() ) {
+            return SplPaletteResolution.RES_256;
+        }
+        else if ( _splPaletteColors64Choice.isSelected() ) {
+            return SplPaletteResolution.RES_64;
+        }
+        else if ( _splPaletteColor1dbChoice.isSelected() ) {
+            return SplPaletteResolution.RES_1DB;
+        }
+        else if ( _splPaletteColor2dbChoice.isSelected() ) {
+            return SplPaletteResolution.RES_2DB;
+        }
+        else if ( _splPaletteColor3dbChoice.isSelected() ) {
+            return SplPaletteResolution.RES_3DB;
+        }
+        else {
+            return SplPaletteResolution.RES_64;
+        }
+    }
+
+    // Get the shared palette lookup table for the selected SPL Palette
+    // Resolution and the given SPL range.
+    public SplPaletteTable getSplPaletteTable( final int splRangeDb ) {
+        return SplPaletteTables.getPaletteTable( getSplPaletteResolution(), splRangeDb );
+    }
+
+    // Make an uncached palette lookup table for the selected SPL Palette
+    // Resolution and the given SPL range, using a caller-supplied color ramp.
+    public SplPaletteTable getSplPaletteTable( final int splRangeDb,
+                                               final DoubleToIntFunction colorRamp ) {
+        return SplPaletteTables.getPaletteTable( getSplPaletteResolution(),
+                                                 splRangeDb,
+                                                 colorRamp );
+    }
+
     public void setSplPaletteResolution( final SplPaletteResolution splPaletteResolution ) {
         switch ( splPaletteResolution ) {
         case RES_256:
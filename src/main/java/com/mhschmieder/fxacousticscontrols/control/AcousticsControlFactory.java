@@ -30,6 +30,7 @@
  */
 package com.mhschmieder.fxacousticscontrols.control;
 
+import com.mhschmieder.fxacousticscontrols.model.SplPaletteTables;
 import com.mhschmieder.fxcontrols.control.ControlFactory;
 import com.mhschmieder.jcommons.util.ClientProperties;
 import javafx.scene.control.Spinner;
@@ -54,9 +55,9 @@ public final class AcousticsControlFactory {
             final ClientProperties clientProperties,
             final boolean applyToolkitCss,
             final boolean useExtendedRange ) {
-        final int minimumSplRangeDb = useExtendedRange ? 3 : 42;
-        final int maximumSplRangeDb = useExtendedRange ? 120 : 72;
-        final int splRangeIncrementDb = 3;
+        final int minimumSplRangeDb = useExtendedRange ? SplPaletteTables.SPL_RANGE_DB_MINIMUM : 42;
+        final int maximumSplRangeDb = useExtendedRange ? SplPaletteTables.SPL_RANGE_DB_MAXIMUM : 72;
+        final int splRangeIncrementDb = SplPaletteTables.SPL_RANGE_DB_INCREMENT;
         final int defaultSplRangeDb = SPL_RANGE_DB_DEFAULT;
 
         final String numericFormatterPattern = "##0";
@@ -0,0 +1,231 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.control;
+
+import com.mhschmieder.fxacousticscontrols.action.AnalysisTimeHorizontalZoomChoices;
+import com.mhschmieder.fxacousticscontrols.action.FrequencyAmplitudeVerticalZoomChoices;
+import com.mhschmieder.fxacousticscontrols.action.FrequencyRangeHorizontalZoomChoices;
+import com.mhschmieder.fxacousticscontrols.action.SplPaletteChoices;
+import com.mhschmieder.jacoustics.FrequencyRange;
+import com.mhschmieder.jacoustics.Smoothing;
+import com.mhschmieder.jacoustics.SplPaletteResolution;
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A thread-safe gateway for pushing state into the acoustics controls from
+ * background computation threads.
+ * <p>
+ * Updates may be submitted from any thread. Only the latest update per control
+ * and kind of update is kept, and all pending updates are applied together in
+ * a single task on the JavaFX Application Thread, so that the event queue
+ * holds at most one gateway task no matter how many updates are submitted.
+ * <p>
+ * Pending updates are applied in the order they were last submitted, so that
+ * dependent updates from a worker (such as a Frequency Range followed by a
+ * Horizontal Zoom that listeners chain off) land in a stable, causal order.
+ */
+public final class AcousticsControlUpdateGateway {
+
+    // Kinds of updates, which are coalesced per control.
+    private static final String UPDATE_FREQUENCY_RANGE                 = "frequencyRange"; //$NON-NLS-1$
+    private static final String UPDATE_SMOOTHING                       = "smoothing"; //$NON-NLS-1$
+    private static final String UPDATE_SPL_PALETTE_RESOLUTION          = "splPaletteResolution"; //$NON-NLS-1$
+    private static final String UPDATE_FREQUENCY_RANGE_HORIZONTAL_ZOOM = "frequencyRangeHorizontalZoom"; //$NON-NLS-1$
+    private static final String UPDATE_ANALYSIS_TIME_HORIZONTAL_ZOOM   = "analysisTimeHorizontalZoom"; //$NON-NLS-1$
+    private static final String UPDATE_VERTICAL_GRID_SPACING           = "verticalGridSpacing"; //$NON-NLS-1$
+
+    // The latest pending update per control and kind of update, in order of
+    // last submission; guarded by its own monitor.
+    private final Map< UpdateKey, Runnable > _pendingUpdates;
+
+    // Flag for whether a drain task is already queued on the FX thread.
+    private final AtomicBoolean              _drainScheduled;
+
+    public AcousticsControlUpdateGateway() {
+        _pendingUpdates = new LinkedHashMap<>();
+        _drainScheduled = new AtomicBoolean( false );
+    }
+
+    /**
+     * Submits an update for a control, replacing any pending update of the
+     * same kind for the same control.
+     *
+     * @param control
+     *            The control to update, compared by identity
+     * @param updateKind
+     *            The kind of update, which is coalesced per control
+     * @param update
+     *            The update to run on the JavaFX Application Thread
+     */
+    public void submit( final Object control,
+                        final String updateKind,
+                        final Runnable update ) {
+        final UpdateKey updateKey = new UpdateKey( control, updateKind );
+        synchronized ( _pendingUpdates ) {
+            // NOTE: A replaced update moves to the end, as it now follows
+            // everything that was submitted before it.
+            _pendingUpdates.remove( updateKey );
+            _pendingUpdates.put( updateKey, update );
+        }
+
+        // Only queue a drain task if one isn't already queued.
+        if ( _drainScheduled.compareAndSet( false, true ) ) {
+            Platform.runLater( this::drainPendingUpdates );
+        }
+    }
+
+    public void updateFrequencyRange( final FrequencyRangeControls frequencyRangeControls,
+                                      final FrequencyRange frequencyRange ) {
+        submit( frequencyRangeControls,
+                UPDATE_FREQUENCY_RANGE,
+                () -> frequencyRangeControls.updateFrequencyRange( frequencyRange ) );
+    }
+
+    public void updateSmoothing( final SmoothingSelector smoothingSelector,
+                                 final Smoothing smoothing ) {
+        submit( smoothingSelector,
+                UPDATE_SMOOTHING,
+                () -> smoothingSelector.setSmoothing( smoothing ) );
+    }
+
+    public void updateSmoothingOctaveDivider( final SmoothingSelector smoothingSelector,
+                                              final int octaveDivider ) {
+        submit( smoothingSelector,
+                UPDATE_SMOOTHING,
+                () -> smoothingSelector.setSmoothingOctaveDivider( octaveDivider ) );
+    }
+
+    public void updateSplPaletteResolution( final SplPaletteChoices splPaletteChoices,
+                                            final SplPaletteResolution splPaletteResolution ) {
+        submit( splPaletteChoices,
+                UPDATE_SPL_PALETTE_RESOLUTION,
+                () -> splPaletteChoices.setSplPaletteResolution( splPaletteResolution ) );
+    }
+
+    public void updateFrequencyRangeHorizontalZoomIndex( final FrequencyRangeHorizontalZoomChoices horizontalZoomChoices,
+                                                         final int frequencyRangeHorizontalZoomIndex ) {
+        submit( horizontalZoomChoices,
+                UPDATE_FREQUENCY_RANGE_HORIZONTAL_ZOOM,
+                () -> horizontalZoomChoices
+                        .setFrequencyRangeHorizontalZoomIndex( frequencyRangeHorizontalZoomIndex ) );
+    }
+
+    public void updateAnalysisTimeIndex( final AnalysisTimeHorizontalZoomChoices horizontalZoomChoices,
+                                         final int analysisTimeIndex ) {
+        submit( horizontalZoomChoices,
+                UPDATE_ANALYSIS_TIME_HORIZONTAL_ZOOM,
+                () -> horizontalZoomChoices.setAnalysisTimeIndex( analysisTimeIndex ) );
+    }
+
+    public void updateVerticalGridSpacing( final FrequencyAmplitudeVerticalZoomChoices verticalZoomChoices,
+                                           final int verticalGridSpacing ) {
+        submit( verticalZoomChoices,
+                UPDATE_VERTICAL_GRID_SPACING,
+                () -> verticalZoomChoices.setVerticalGridSpacing( verticalGridSpacing ) );
+    }
+
+    // Get the number of updates that are waiting to be applied.
+    public int getPendingUpdateCount() {
+        synchronized ( _pendingUpdates ) {
+            return _pendingUpdates.size();
+        }
+    }
+
+    // Apply all pending updates right away, if on the JavaFX Application
+    // Thread, such as before saving a session; otherwise they are applied
+    // by the drain task that is already queued.
+    public void flush() {
+        if ( Platform.isFxApplicationThread() ) {
+            drainPendingUpdates();
+        }
+    }
+
+    private void drainPendingUpdates() {
+        // NOTE: The flag is cleared before draining, so that updates submitted
+        // while draining are either applied now or queue another drain task,
+        // but are never left stranded.
+        _drainScheduled.set( false );
+
+        // Take all pending updates in one go, and run them outside the lock
+        // so that they may themselves submit further updates.
+        final List< Runnable > updates;
+        synchronized ( _pendingUpdates ) {
+            updates = new ArrayList<>( _pendingUpdates.values() );
+            _pendingUpdates.clear();
+        }
+
+        for ( final Runnable update : updates ) {
+            try {
+                update.run();
+            }
+            catch ( final Exception ex ) {
+                ex.printStackTrace();
+            }
+        }
+    }
+
+    // Key for coalescing updates, which compares controls by identity as the
+    // controls don't define value equality.
+    private static final class UpdateKey {
+
+        private final Object _control;
+        private final String _updateKind;
+
+        UpdateKey( final Object control, final String updateKind ) {
+            _control = control;
+            _updateKind = updateKind;
+        }
+
+        @Override
+        public boolean equals( final Object other ) {
+            if ( this == other ) {
+                return true;
+            }
+            if ( !( other instanceof UpdateKey ) ) {
+                return false;
+            }
+
+            final UpdateKey otherKey = ( UpdateKey ) other;
+            return ( _control == otherKey._control ) && _updateKind.equals( otherKey._updateKind );
+        }
+
+        @Override
+        public int hashCode() {
+            return ( 31 * System.identityHashCode( _control ) ) + _updateKind.hashCode();
+        }
+    }
+}
@@ -30,23 +30,71 @@
  */
 package com.mhschmieder.fxacousticscontrols.control;
 
+import com.mhschmieder.fxacousticscontrols.model.CenterFrequencyBandTable;
+import com.mhschmieder.fxacousticscontrols.model.CenterFrequencyBandTables;
+import com.mhschmieder.fxacousticscontrols.model.FrequencyRangeModel;
+import com.mhschmieder.fxacousticscontrols.model.OctaveRange;
 import com.mhschmieder.fxcontrols.control.DoubleSelector;
-import com.mhschmieder.jacoustics.CenterFrequencies;
 import com.mhschmieder.jacoustics.FrequencyRange;
 import com.mhschmieder.jacoustics.FrequencySignalUtilities;
 import com.mhschmieder.jacoustics.RelativeBandwidth;
 import com.mhschmieder.jcommons.util.ClientProperties;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.scene.input.KeyEvent;
 import org.apache.commons.math3.util.FastMath;
 
-import java.util.TreeSet;
-
+/**
+ * A selector for Center Frequencies, whose items are the formatted labels of a
+ * shared Center Frequency band table.
+ * <p>
+ * The numeric Center Frequency and its band index are resolved from the band
+ * table rather than by parsing the selected label, and are exposed as
+ * read-only properties. The items stay as labels, as this is a
+ * {@link DoubleSelector}; a typed mode with numeric items and a List Cell
+ * Factory is out of scope here. The band index comes from the selection model
+ * when it agrees with the selected label, and only otherwise from a search of
+ * the table's labels, such as after a value is set directly.
+ */
 public final class CenterFrequencySelector extends DoubleSelector {
+
+    // The most rows to show at once in the popup list, beyond which it scrolls.
+    public static final int   MAXIMUM_VISIBLE_ROW_COUNT = 48;
+
+    // How long a pause resets the type-ahead search, in nanoseconds.
+    private static final long TYPE_AHEAD_TIMEOUT_NS     = 1000000000L;
     
     private final int _startIndexForOneOctave;
     private final int _startIndexForThirdOctave;
 
+    // Cache the shared Center Frequency band tables for our number format.
+    private CenterFrequencyBandTables _bandTables;
+
+    // Cache the band table that the current list of items was made from.
+    private CenterFrequencyBandTable  _bandTable;
+
+    // The one backing list of items, whose contents are replaced on each
+    // change of band table rather than allocating a new list.
+    private final ObservableList< String > _centerFrequencyItems;
+
+    // Flag for whether to edit the current list of items in place rather than
+    // replacing it, which avoids rebuilding the list when nothing changed.
+    private boolean                   _incrementalItemUpdates;
+
+    // The numeric Center Frequency and its band index in the current list,
+    // kept in sync with the selection so that reading them costs nothing.
+    private final ReadOnlyDoubleWrapper  _centerFrequencyValue;
+    private final ReadOnlyIntegerWrapper _centerFrequencyBandIndex;
+
+    // The characters typed so far for a type-ahead search, and when the last
+    // one was typed.
+    private final StringBuilder          _typeAheadBuffer;
+    private long                         _typeAheadTimeNs;
+
     public CenterFrequencySelector( final ClientProperties pClientProperties,
                                     final boolean applyToolkitCss,
                                     final int startIndexForOneOctave,
@@ -66,6 +114,26 @@ public final class CenterFrequencySelector extends DoubleSelector {
         _startIndexForOneOctave = startIndexForOneOctave;
         _startIndexForThirdOctave = startIndexForThirdOctave;
 
+        _centerFrequencyValue = new ReadOnlyDoubleWrapper( this,
+                                                           "centerFrequencyValue", //$NON-NLS-1$
+                                                           Double.NaN );
+        _centerFrequencyBandIndex = new ReadOnlyIntegerWrapper( this,
+                                                                "centerFrequencyBandIndex", //$NON-NLS-1$
+                                                                -1 );
+
+        // Resolve each new selection to its primitive band value by looking it
+        // up in the band table it came from, rather than parsing the label.
+        valueProperty().addListener( ( observable, oldValue, newValue ) -> {
+            syncCenterFrequencyValue();
+        } );
+
+        _typeAheadBuffer = new StringBuilder();
+        _typeAheadTimeNs = 0L;
+        addEventHandler( KeyEvent.KEY_TYPED, this::handleTypeAhead );
+
+        _centerFrequencyItems = FXCollections.observableArrayList();
+        setItems( _centerFrequencyItems );
+
         try {
             initComboBox();
         }
@@ -74,10 +142,70 @@ public final class CenterFrequencySelector extends DoubleSelector {
         }
     }
 
+    public boolean isIncrementalItemUpdates() {
+        return _incrementalItemUpdates;
+    }
+
+    public void setIncrementalItemUpdates( final boolean incrementalItemUpdates ) {
+        _incrementalItemUpdates = incrementalItemUpdates;
+    }
+
     public String getCenterFrequency() {
         return getValue();
     }
 
+    public ReadOnlyDoubleProperty centerFrequencyValueProperty() {
+        return _centerFrequencyValue.getReadOnlyProperty();
+    }
+
+    // Get the numeric Center Frequency, or NaN if nothing valid is selected.
+    public double getCenterFrequencyValue() {
+        return _centerFrequencyValue.get();
+    }
+
+    public ReadOnlyIntegerProperty centerFrequencyBandIndexProperty() {
+        return _centerFrequencyBandIndex.getReadOnlyProperty();
+    }
+
+    // Get the index of the selected band in the current list, or -1 if none.
+    public int getCenterFrequencyBandIndex() {
+        return _centerFrequencyBandIndex.get();
+    }
+
+    // Get the band table that the current list of items was made from.
+    public CenterFrequencyBandTable getBandTable() {
+        return _bandTable;
+    }
+
+    // Select a band in the current list directly by its index.
+    public void setCenterFrequencyBandIndex( final int centerFrequencyBandIndex ) {
+        if ( ( _bandTable != null ) && ( centerFrequencyBandIndex >= 0 )
+                && ( centerFrequencyBandIndex < _bandTable.getBandCount() ) ) {
+            setValue( _bandTable.getCenterFrequencyLabel( centerFrequencyBandIndex ) );
+        }
+    }
+
+    private void syncCenterFrequencyValue() {
+        final String sCenterFrequency = getValue();
+        int centerFrequencyBandIndex = -1;
+        if ( ( _bandTable != null ) && ( sCenterFrequency != null ) ) {
+            // The selection model usually already knows the index, so verify
+            // that first before falling back to a search of the labels.
+            final int selectedIndex = getSelectionModel().getSelectedIndex();
+            centerFrequencyBandIndex = ( ( selectedIndex >= 0 )
+                    && ( selectedIndex < _bandTable.getBandCount() )
+                    && sCenterFrequency
+                            .equals( _bandTable.getCenterFrequencyLabel( selectedIndex ) ) )
+                        ? selectedIndex
+                        : _bandTable.indexOfLabel( sCenterFrequency );
+        }
+
+        _centerFrequencyBandIndex.set( centerFrequencyBandIndex );
+        _centerFrequencyValue.set( ( centerFrequencyBandIndex >= 0 )
+            ? _bandTable.getCenterFrequency( centerFrequencyBandIndex )
+            : Double.NaN );
+    }
+
     private void initComboBox() throws Exception {
         // NOTE: Groupings are turned off, and we force US locale for now,
         // due to specifics about the implementation of the pattern-matcher.
@@ -99,7 +227,7 @@ public final class CenterFrequencySelector extends DoubleSelector {
         // Frequencies, selected at 4 kHz.
         updateCenterFrequencyForBandwidthAndOctave(
                 RelativeBandwidth.defaultValue(),
-                OctaveRangeSelector.OCTAVE_RANGE_WIDE_DEFAULT,
+                OctaveRange.FULL_SPECTRUM,
                 4000.0d,
                 false );
     }
@@ -119,134 +247,260 @@ public final class CenterFrequencySelector extends DoubleSelector {
         }
     }
 
+    public void setCenterFrequency( final String sOctaveRange,
+                                    final double centerFrequency ) {
+        final OctaveRange octaveRange = OctaveRange.fromLabel( sOctaveRange );
+        if ( octaveRange == null ) {
+            setCenterFrequency( sOctaveRange, ( String ) null );
+            return;
+        }
+
+        setCenterFrequency( octaveRange, centerFrequency );
+    }
+
+    public void setCenterFrequency( final OctaveRange octaveRange,
+                                    final double centerFrequency ) {
+        // Snap to the nearest band in the current list when the frequency is
+        // in range, as formatting it and searching for an exact string match
+        // fails whenever the frequency is between or just off nominal bands.
+        if ( ( _bandTable != null ) && octaveRange.containsFrequency( centerFrequency ) ) {
+            final int centerFrequencyIndex = _bandTable.nearestIndexOf( centerFrequency );
+            if ( centerFrequencyIndex >= 0 ) {
+                setValue( _bandTable.getCenterFrequencyLabel( centerFrequencyIndex ) );
+                return;
+            }
+        }
+
+        setCenterFrequency( octaveRange.getLabel(), ( String ) null );
+    }
+
     // Set the drop-list of Center Frequencies based on Relative Bandwidth.
     // TODO: Remember to narrow the range of which frequencies are shown!
-    @SuppressWarnings("nls")
     public void updateCenterFrequencyForBandwidthAndOctave( final RelativeBandwidth relativeBandwidth,
                                                             final String sOctaveRange,
                                                             final double centerFrequency,
                                                             final boolean preserveSelection ) {
-        // Start with a clean slate, as we are effectively replacing the entire
-        // list. Be careful if restoring the current selection, as there are
-        // many edge cases that either do the wrong thing, result in a blank
-        // selection field, or do not generate a callback.
-        // NOTE: Using a Tree Set forces all numbers to be in ascending order.
-        final TreeSet< Double > centerFrequencies = new TreeSet<>();
-
-        int startIndex;
-        int stopIndex;
-        boolean narrowBand = false;
-        switch ( relativeBandwidth ) {
-        case ONE_OCTAVE:
-            // Update the list of Center Frequencies to match full octave
-            // bandwidth, displaying only the valid operating range.
-            startIndex = _startIndexForOneOctave;
-            stopIndex = 15;
-            for ( int i = startIndex; i < stopIndex; i++ ) {
-                final double wideBandCenterFrequency =
-                                                     CenterFrequencies.NOMINAL_FULL_OCTAVE_CENTER_FREQUENCIES[ i ];
-                centerFrequencies.add( wideBandCenterFrequency );
-            }
-            break;
-        case THIRD_OCTAVE:
-            // Update the list of Center Frequencies to match third octave
-            // bandwidth, displaying only the valid operating range.
-            startIndex = _startIndexForThirdOctave;
-            stopIndex = 43;
-            for ( int i = startIndex; i < stopIndex; i++ ) {
-                final double wideBandCenterFrequency =
-                                                     CenterFrequencies.NOMINAL_THIRD_OCTAVE_CENTER_FREQUENCIES[ i ];
-                centerFrequencies.add( wideBandCenterFrequency );
-            }
-            break;
-        case SIXTH_OCTAVE:
-        case TWELTH_OCTAVE:
-        case TWENTYFOURTH_OCTAVE:
-        case FORTYEIGHTH_OCTAVE:
-            narrowBand = true;
-
-            final int octaveDivider = relativeBandwidth.toOctaveDivider();
-            final int startIndexAt10Hz = 10 * ( int ) FastMath.ceil( octaveDivider / 3.0d );
-
-            final int octaveOffsetFrom10Hz = FrequencySignalUtilities
-                    .getOctaveOffsetFrom10Hz( sOctaveRange );
-
-            startIndex = startIndexAt10Hz + ( octaveOffsetFrom10Hz * octaveDivider );
-            stopIndex = startIndex + octaveDivider;
-
-            // Update the list of Center Frequencies to match relative
-            // bandwidth, displaying only the valid operating range.
-            for ( int i = startIndex; i < stopIndex; i++ ) {
-                final double narrowBandCenterFrequency = FrequencySignalUtilities
-                        .getCenterFrequencyByBandNumber( i, octaveDivider );
-                centerFrequencies.add( narrowBandCenterFrequency );
-            }
-            if ( "10 kHz to 20 kHz".equals( sOctaveRange ) ) {
-                // Insert the specific 1 kHz frequencies between 10 kHz and
-                // 20 kHz in the midst of the algorithmically generated ones.
-                // In order to get the numbers in order and avoid possible
-                // duplicates between integer values and algorithmically
-                // generated values, we use a TreeSet of Double objects.
-                for ( int j = 0; j <= 10; j++ ) {
-                    final double narrowBandCenterFrequency = 10000d + ( j * 1000d );
-                    centerFrequencies.add( narrowBandCenterFrequency );
-                }
-            }
+        // Convert the legacy label once at the boundary, as everything after
+        // this works from the precomputed Octave Range bounds and offsets.
+        final OctaveRange octaveRange = OctaveRange.fromLabel( sOctaveRange );
+        final CenterFrequencyBandTable bandTable = ( octaveRange != null )
+            ? getBandTables().getBandTable( relativeBandwidth, octaveRange )
+            : getBandTables().getBandTable( relativeBandwidth, sOctaveRange );
+        updateCenterFrequencyForBandTable( bandTable,
+                                           octaveRange,
+                                           sOctaveRange,
+                                           centerFrequency,
+                                           !OctaveRange.isWideBand( relativeBandwidth ),
+                                           preserveSelection );
+    }
 
-            break;
-        default:
-            break;
-        }
+    // Set the drop-list of Center Frequencies based on Relative Bandwidth.
+    public void updateCenterFrequencyForBandwidthAndOctave( final RelativeBandwidth relativeBandwidth,
+                                                            final OctaveRange octaveRange,
+                                                            final double centerFrequency,
+                                                            final boolean preserveSelection ) {
+        // NOTE: The band tables are shared across all selectors and are only
+        // computed the first time a given combination is needed.
+        final CenterFrequencyBandTable bandTable = getBandTables()
+                .getBandTable( relativeBandwidth, octaveRange );
+        updateCenterFrequencyForBandTable( bandTable,
+                                           octaveRange,
+                                           octaveRange.getLabel(),
+                                           centerFrequency,
+                                           !OctaveRange.isWideBand( relativeBandwidth ),
+                                           preserveSelection );
+    }
 
-        // Make sure the list displays all items without scrolling.
+    // Set the drop-list of Center Frequencies for a narrow band octave divider,
+    // which may be finer than any of the named Relative Bandwidths (such as
+    // 1/96 octave), with only the bands of the given Octave Range generated.
+    public void updateCenterFrequencyForOctaveDividerAndOctave( final int octaveDivider,
+                                                                final OctaveRange octaveRange,
+                                                                final double centerFrequency,
+                                                                final boolean preserveSelection ) {
+        final CenterFrequencyBandTable bandTable = getBandTables()
+                .getNarrowBandTable( octaveDivider, octaveRange );
+        updateCenterFrequencyForBandTable( bandTable,
+                                           octaveRange,
+                                           octaveRange.getLabel(),
+                                           centerFrequency,
+                                           true,
+                                           preserveSelection );
+    }
+
+    private void updateCenterFrequencyForBandTable( final CenterFrequencyBandTable bandTable,
+                                                    final OctaveRange octaveRange,
+                                                    final String sOctaveRange,
+                                                    final double centerFrequency,
+                                                    final boolean narrowBand,
+                                                    final boolean preserveSelection ) {
+        _bandTable = bandTable;
+        final int numberOfBands = bandTable.getBandCount();
+
+        // Make sure the list displays all items without scrolling, up to a
+        // limit, as the popup list only makes cells for the visible rows and
+        // the finest resolutions would otherwise render hundreds of cells.
         // NOTE: It is best to do this dynamically with list changes, for the
         // most reliable adherence at run-time to the desired new size, or else
         // blank lines can result and the new list size not being honored.
-        setVisibleRowCount( centerFrequencies.size() );
+        // NOTE: When editing incrementally, the row count only needs to be
+        // re-asserted when the list size changes, as doing so relayouts.
+        final int visibleRowCount = FastMath.min( numberOfBands, MAXIMUM_VISIBLE_ROW_COUNT );
+        if ( !_incrementalItemUpdates || ( getVisibleRowCount() != visibleRowCount ) ) {
+            setVisibleRowCount( visibleRowCount );
+        }
 
-        // Look for a simple search of the exact frequency, for a cheap return.
-        boolean centerFrequencyInRange = false;
-        double centerFrequencyDefault = Double.NaN;
-        if ( centerFrequencies.contains( centerFrequency ) ) {
-            centerFrequencyInRange = true;
-            centerFrequencyDefault = centerFrequency;
+        // The typed path shares its selection rules with the headless model;
+        // legacy labels that don't map to an Octave Range are still honored.
+        final String sCenterFrequencyDefault;
+        if ( octaveRange != null ) {
+            final int centerFrequencyIndex = FrequencyRangeModel
+                    .resolveCenterFrequencyIndex( bandTable, octaveRange, centerFrequency, narrowBand );
+            sCenterFrequencyDefault = ( centerFrequencyIndex >= 0 )
+                ? bandTable.getCenterFrequencyLabel( centerFrequencyIndex )
+                : getBandTables().getFormattedFrequency( octaveRange
+                        .getNominalCenterFrequencyDefault( narrowBand ) );
         }
         else {
-            // Make sure it's in range, so we know to look for closest match.
-            centerFrequencyInRange = FrequencyRange
-                    .isCenterFrequencyInOctaveRange( sOctaveRange, centerFrequency );
-        }
-
-        // Convert the numbers to formatted strings, and search for the closest
-        // match to the previous Center Frequency while doing that.
-        // TODO: Use Functional Programming and Streams API to find best match?
-        final ObservableList< String > centerFrequenciesFormatted = FXCollections
-                .observableArrayList();
-        double previousFrequencyDifference = Double.MAX_VALUE;
-        double currentFrequencyDifference = Double.MAX_VALUE;
-        for ( final Double nominalCenterFrequency : centerFrequencies ) {
-            if ( centerFrequencyInRange ) {
-                currentFrequencyDifference = FastMath.abs( nominalCenterFrequency - centerFrequency );
-                if ( currentFrequencyDifference < previousFrequencyDifference ) {
-                    centerFrequencyDefault = nominalCenterFrequency;
-                }
-                previousFrequencyDifference = currentFrequencyDifference;
+            // Look for a simple search of the exact frequency, for a cheap
+            // return, else make sure it's in range before looking for the
+            // closest match.
+            int centerFrequencyIndex = bandTable.indexOf( centerFrequency );
+            if ( ( centerFrequencyIndex < 0 ) && FrequencyRange
+                    .isCenterFrequencyInOctaveRange( sOctaveRange, centerFrequency ) ) {
+                centerFrequencyIndex = bandTable.nearestIndexOf( centerFrequency );
+            }
+
+            // If the Center Frequency is no longer in range, choose a new
+            // default; otherwise use the pre-formatted label from the table.
+            sCenterFrequencyDefault = ( centerFrequencyIndex >= 0 )
+                ? bandTable.getCenterFrequencyLabel( centerFrequencyIndex )
+                : getBandTables().getFormattedFrequency( FrequencyRange
+                        .getNominalCenterFrequencyDefaultForOctaveRange( sOctaveRange,
+                                                                         narrowBand ) );
+        }
+
+        // Edit the current list in place if requested, only changing the
+        // selection if the effective value is different.
+        if ( _incrementalItemUpdates ) {
+            SelectorUpdateUtilities.updateItems( this,
+                                                 bandTable.getCenterFrequencyLabels(),
+                                                 sCenterFrequencyDefault,
+                                                 preserveSelection );
+        }
+        else {
+            // Replace the contents of the backing list in a single change from
+            // the table's shared labels, and re-assert the current selection
+            // if it is still present, or else select the default.
+            final String sCenterFrequency = getValue();
+            final String sCenterFrequencySelected = ( preserveSelection
+                    && ( sCenterFrequency != null )
+                    && ( bandTable.indexOfLabel( sCenterFrequency ) >= 0 ) )
+                        ? sCenterFrequency
+                        : sCenterFrequencyDefault;
+            if ( getItems() != _centerFrequencyItems ) {
+                setItems( _centerFrequencyItems );
+            }
+            _centerFrequencyItems.setAll( bandTable.getCenterFrequencyLabels() );
+            setValue( sCenterFrequencySelected );
+        }
+
+        // NOTE: A label that exists in both tables (such as "1000") doesn't
+        // change the value, so no value event fires; re-resolve the numeric
+        // state against the new table regardless.
+        syncCenterFrequencyValue();
+    }
+
+    // Jump to the band nearest to a frequency typed while the selector has
+    // focus, such as "125" or "1.6k", which avoids scrolling through long
+    // lists of narrow bands.
+    private void handleTypeAhead( final KeyEvent keyEvent ) {
+        if ( isEditable() || ( _bandTable == null ) ) {
+            return;
+        }
+
+        final String character = keyEvent.getCharacter();
+        if ( ( character == null ) || ( character.length() != 1 ) ) {
+            return;
+        }
+
+        final char typedChar = character.charAt( 0 );
+        final boolean numericChar = Character.isDigit( typedChar ) || ( typedChar == '.' );
+        final boolean kiloChar = ( typedChar == 'k' ) || ( typedChar == 'K' );
+        if ( !numericChar && !kiloChar ) {
+            return;
+        }
+
+        // Start a new search if the user paused, or after a kHz suffix.
+        final long currentTimeNs = System.nanoTime();
+        if ( ( ( currentTimeNs - _typeAheadTimeNs ) > TYPE_AHEAD_TIMEOUT_NS )
+                || ( ( _typeAheadBuffer.length() > 0 ) && ( _typeAheadBuffer
+                        .charAt( _typeAheadBuffer.length() - 1 ) == 'k' ) ) ) {
+            _typeAheadBuffer.setLength( 0 );
+        }
+        _typeAheadTimeNs = currentTimeNs;
+
+        if ( kiloChar ) {
+            if ( _typeAheadBuffer.length() == 0 ) {
+                return;
             }
+            _typeAheadBuffer.append( 'k' );
+        }
+        else {
+            _typeAheadBuffer.append( typedChar );
+        }
 
-            final String centerFrequencyFormatted = FrequencySignalUtilities
-                    .getFormattedFrequency( nominalCenterFrequency, _numberFormat );
-            centerFrequenciesFormatted.add( centerFrequencyFormatted );
+        final double typedFrequency = parseTypeAhead( _typeAheadBuffer );
+        if ( Double.isNaN( typedFrequency ) ) {
+            return;
         }
 
-        // If the Center Frequency is no longer in range, choose a new default.
-        if ( !centerFrequencyInRange ) {
-            centerFrequencyDefault = FrequencyRange
-                    .getNominalCenterFrequencyDefaultForOctaveRange( sOctaveRange, narrowBand );
+        setCenterFrequencyBandIndex( _bandTable.nearestIndexOf( typedFrequency ) );
+        keyEvent.consume();
+    }
+
+    // Parse the type-ahead buffer as a frequency in Hz (or kHz if it ends in
+    // "k"), without any locale dependencies as the syntax is fixed.
+    private static double parseTypeAhead( final CharSequence typeAhead ) {
+        double value = 0.0d;
+        double fractionScale = 0.0d;
+        boolean hasDigits = false;
+        double multiplier = 1.0d;
+        for ( int i = 0; i < typeAhead.length(); i++ ) {
+            final char typedChar = typeAhead.charAt( i );
+            if ( Character.isDigit( typedChar ) ) {
+                hasDigits = true;
+                if ( fractionScale > 0.0d ) {
+                    fractionScale *= 0.1d;
+                    value += ( typedChar - '0' ) * fractionScale;
+                }
+                else {
+                    value = ( 10.0d * value ) + ( typedChar - '0' );
+                }
+            }
+            else if ( typedChar == '.' ) {
+                if ( fractionScale > 0.0d ) {
+                    return Double.NaN;
+                }
+                fractionScale = 1.0d;
+            }
+            else if ( typedChar == 'k' ) {
+                multiplier = 1000.0d;
+            }
+        }
+
+        return hasDigits ? value * multiplier : Double.NaN;
+    }
+
+    // Get the shared band tables, re-fetching only if the number format has
+    // changed since they were last looked up.
+    public CenterFrequencyBandTables getBandTables() {
+        if ( ( _bandTables == null ) || !_bandTables.isFormattedBy( _numberFormat ) ) {
+            _bandTables = CenterFrequencyBandTables.getInstance( _startIndexForOneOctave,
+                                                                 _startIndexForThirdOctave,
+                                                                 _numberFormat );
         }
 
-        // Replace the entire list, and re-assert the current selection.
-        final String sCenterFrequencyDefault = FrequencySignalUtilities
-                .getFormattedFrequency( centerFrequencyDefault, _numberFormat );
-        updateValues( centerFrequenciesFormatted, sCenterFrequencyDefault, preserveSelection );
+        return _bandTables;
     }
 }
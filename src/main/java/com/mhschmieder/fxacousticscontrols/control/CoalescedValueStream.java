@@ -0,0 +1,263 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.control;
+
+import javafx.animation.AnimationTimer;
+import javafx.animation.PauseTransition;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.util.Duration;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * A coalesced view of an observable value, for downstream computations that
+ * are too expensive to run on every intermediate value of a fast-changing
+ * source such as a keyboard-scrolled selector.
+ * <p>
+ * Only the latest source value is kept; earlier pending values are simply
+ * dropped. Depending on the mode, subscribers receive at most one value per
+ * JavaFX pulse, per quiet period, or per time interval.
+ * <p>
+ * This class must only be used from the JavaFX Application Thread.
+ *
+ * @param <T>
+ *            The type of value being coalesced
+ */
+public final class CoalescedValueStream< T > {
+
+    /**
+     * The policy for when a pending value is delivered.
+     */
+    public enum CoalescingMode {
+        /** Deliver the latest value once at the next JavaFX pulse. */
+        PULSE,
+        /** Deliver the latest value once the source has been quiet for the delay. */
+        DEBOUNCE,
+        /** Deliver at most one value per delay, including the trailing latest value. */
+        THROTTLE
+    }
+
+    // The source of values to coalesce, and our listener on it.
+    private final ObservableValue< ? extends T > _source;
+    private final ChangeListener< T >             _sourceListener;
+
+    // The coalescing policy and its delay (unused for pulse coalescing).
+    private final CoalescingMode                  _coalescingMode;
+    private final Duration                        _delay;
+
+    // The latest delivered value, for clients that prefer to bind to it.
+    private final ReadOnlyObjectWrapper< T >      _value;
+
+    // Subscribers for delivered values, which may change during delivery.
+    private final List< Consumer< ? super T > >   _subscribers;
+
+    // The latest undelivered value, and whether there is one at all, as null
+    // is a legitimate value.
+    private T                                     _pendingValue;
+    private boolean                               _pending;
+
+    // The timers used to schedule delivery; only one is made, per the mode.
+    private AnimationTimer                        _pulseTimer;
+    private PauseTransition                       _pauseTransition;
+
+    // Time of the last delivery, and whether a trailing delivery is already
+    // scheduled, for throttling.
+    private long                                  _lastDeliveryTimeNs;
+    private boolean                               _throttleScheduled;
+
+    // Flag for whether this stream has been disposed of.
+    private boolean                               _disposed;
+
+    public CoalescedValueStream( final ObservableValue< ? extends T > source,
+                                 final CoalescingMode coalescingMode,
+                                 final Duration delay ) {
+        _source = source;
+        _coalescingMode = coalescingMode;
+        _delay = ( delay != null ) ? delay : Duration.ZERO;
+
+        _value = new ReadOnlyObjectWrapper<>( this, "value", source.getValue() ); //$NON-NLS-1$
+        _subscribers = new CopyOnWriteArrayList<>();
+
+        _pendingValue = null;
+        _pending = false;
+        _lastDeliveryTimeNs = Long.MIN_VALUE;
+        _throttleScheduled = false;
+        _disposed = false;
+
+        switch ( coalescingMode ) {
+        case PULSE:
+            _pulseTimer = new AnimationTimer() {
+                @Override
+                public void handle( final long now ) {
+                    stop();
+                    deliverPendingValue();
+                }
+            };
+            break;
+        case DEBOUNCE:
+        case THROTTLE:
+            _pauseTransition = new PauseTransition( _delay );
+            _pauseTransition.setOnFinished( evt -> deliverPendingValue() );
+            break;
+        default:
+            break;
+        }
+
+        _sourceListener = ( observable, oldValue, newValue ) -> handleSourceChange( newValue );
+        _source.addListener( _sourceListener );
+    }
+
+    public CoalescingMode getCoalescingMode() {
+        return _coalescingMode;
+    }
+
+    public Duration getDelay() {
+        return _delay;
+    }
+
+    public ReadOnlyObjectProperty< T > valueProperty() {
+        return _value.getReadOnlyProperty();
+    }
+
+    // Get the latest delivered value.
+    public T getValue() {
+        return _value.get();
+    }
+
+    public boolean isPending() {
+        return _pending;
+    }
+
+    public void addSubscriber( final Consumer< ? super T > subscriber ) {
+        _subscribers.add( subscriber );
+    }
+
+    public void removeSubscriber( final Consumer< ? super T > subscriber ) {
+        _subscribers.remove( subscriber );
+    }
+
+    // Deliver any pending value right away, such as before saving a session.
+    public void flush() {
+        cancelTimers();
+        deliverPendingValue();
+    }
+
+    // Stop listening to the source and drop any pending value.
+    public void dispose() {
+        if ( _disposed ) {
+            return;
+        }
+
+        _disposed = true;
+        _source.removeListener( _sourceListener );
+        cancelTimers();
+        _pendingValue = null;
+        _pending = false;
+        _subscribers.clear();
+    }
+
+    private void handleSourceChange( final T newValue ) {
+        if ( _disposed ) {
+            return;
+        }
+
+        // Latest wins: replace whatever was pending, and make sure delivery is
+        // scheduled per the coalescing mode.
+        _pendingValue = newValue;
+        _pending = true;
+
+        switch ( _coalescingMode ) {
+        case PULSE:
+            // NOTE: Starting a timer that is already running is harmless, and
+            // it is stopped again as soon as the next pulse delivers.
+            _pulseTimer.start();
+            break;
+        case DEBOUNCE:
+            _pauseTransition.playFromStart();
+            break;
+        case THROTTLE:
+            scheduleThrottledDelivery();
+            break;
+        default:
+            break;
+        }
+    }
+
+    private void scheduleThrottledDelivery() {
+        final long delayNs = ( long ) ( _delay.toMillis() * 1.0e6d );
+        final long elapsedNs = ( _lastDeliveryTimeNs == Long.MIN_VALUE )
+            ? Long.MAX_VALUE
+            : System.nanoTime() - _lastDeliveryTimeNs;
+        if ( elapsedNs >= delayNs ) {
+            // Leading edge: nothing was delivered recently, so deliver now.
+            _pauseTransition.stop();
+            deliverPendingValue();
+        }
+        else if ( !_throttleScheduled ) {
+            // Trailing edge: deliver the latest value once the interval ends.
+            _throttleScheduled = true;
+            _pauseTransition.setDuration( Duration.millis( ( delayNs - elapsedNs ) * 1.0e-6d ) );
+            _pauseTransition.playFromStart();
+        }
+    }
+
+    private void cancelTimers() {
+        if ( _pulseTimer != null ) {
+            _pulseTimer.stop();
+        }
+        if ( _pauseTransition != null ) {
+            _pauseTransition.stop();
+        }
+        _throttleScheduled = false;
+    }
+
+    private void deliverPendingValue() {
+        _throttleScheduled = false;
+        if ( !_pending || _disposed ) {
+            return;
+        }
+
+        final T value = _pendingValue;
+        _pendingValue = null;
+        _pending = false;
+        _lastDeliveryTimeNs = System.nanoTime();
+
+        _value.set( value );
+        for ( final Consumer< ? super T > subscriber : _subscribers ) {
+            subscriber.accept( value );
+        }
+    }
+}
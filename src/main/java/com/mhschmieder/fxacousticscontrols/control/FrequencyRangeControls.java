@@ -30,14 +30,26 @@
  */
 package com.mhschmieder.fxacousticscontrols.control;
 
+import com.mhschmieder.fxacousticscontrols.model.FrequencyRangeModel;
+import com.mhschmieder.fxacousticscontrols.model.OctaveRange;
 import com.mhschmieder.fxcontrols.control.ListViewUtilities;
 import com.mhschmieder.fxcontrols.control.XComboBox;
 import com.mhschmieder.jacoustics.FrequencyRange;
-import com.mhschmieder.jacoustics.FrequencySignalUtilities;
 import com.mhschmieder.jacoustics.RelativeBandwidth;
 import com.mhschmieder.jcommons.util.ClientProperties;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.util.Duration;
 
 import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 
 public final class FrequencyRangeControls {
 
@@ -46,8 +58,27 @@ public final class FrequencyRangeControls {
     public OctaveRangeSelector       _octaveRangeSelector;
     public CenterFrequencySelector   _centerFrequencySelector;
 
-    // Number format cache used for locale-specific number formatting.
-    private NumberFormat             _numberFormat;
+    // Flag for whether to use the low frequency extended range.
+    private final boolean            _useExtendedRange;
+
+    // Headless model that applies the same rules as the selectors, used to
+    // normalize and validate combined values before they reach the controls.
+    private final FrequencyRangeModel _frequencyRangeModel;
+
+    // The combined Frequency Range, published as one immutable value whenever
+    // the three selectors settle on a valid combination.
+    private final ReadOnlyObjectWrapper< FrequencyRange > _frequencyRange;
+
+    // Flag for whether a batch update is in progress, so that listeners on
+    // the individual selectors can ignore intermediate states.
+    private final ReadOnlyBooleanWrapper _updating;
+
+    // Nesting depth of batch updates; changes are only published at zero.
+    private int                      _updateDepth;
+
+    // The client listeners on the individual selectors, which are muted
+    // during batch updates and notified once at the end of the batch.
+    private final List< MutedChangeListener< ? > > _mutedListeners;
 
     // Default constructor
     public FrequencyRangeControls( final NumberFormat numberFormat,
@@ -56,7 +87,9 @@ public final class FrequencyRangeControls {
                                    final boolean useExtendedRange,
                                    final int startIndexForOneOctave,
                                    final int startIndexForThirdOctave ) {
-        _numberFormat = numberFormat;
+        // NOTE: The number format is no longer needed, as Center Frequency
+        // labels come pre-formatted from the shared band tables; it is kept
+        // in the signature for source compatibility.
 
         // Make the individual controls.
         final RelativeBandwidth[] supportedValues = new RelativeBandwidth[] {
@@ -64,8 +97,8 @@ public final class FrequencyRangeControls {
                 RelativeBandwidth.THIRD_OCTAVE,
                 RelativeBandwidth.SIXTH_OCTAVE,
                 RelativeBandwidth.TWELTH_OCTAVE,
-                RelativeBandwidth.TWENTYFOURTH_OCTAVE }; //,
-                //RelativeBandwidth.FORTYEIGHTH_OCTAVE };
+                RelativeBandwidth.TWENTYFOURTH_OCTAVE,
+                RelativeBandwidth.FORTYEIGHTH_OCTAVE };
         _relativeBandwidthSelector = ListViewUtilities.makeLabeledSelector(
                 pClientProperties,
                 supportedValues,
@@ -78,25 +111,235 @@ public final class FrequencyRangeControls {
                                                                 applyToolkitCss,
                                                                 startIndexForOneOctave,
                                                                 startIndexForThirdOctave );
+
+        _useExtendedRange = useExtendedRange;
+        _frequencyRangeModel = makeFrequencyRangeModel();
+
+        _frequencyRange = new ReadOnlyObjectWrapper<>( this,
+                                                       "frequencyRange", //$NON-NLS-1$
+                                                       null );
+        _updating = new ReadOnlyBooleanWrapper( this,
+                                                "updating", //$NON-NLS-1$
+                                                false );
+        _updateDepth = 0;
+        _mutedListeners = new ArrayList<>();
+
+        // Any single selector change that happens outside of a batch update
+        // is published straight away, as long as the combination is valid.
+        _relativeBandwidthSelector.valueProperty().addListener(
+            ( observable, oldValue, newValue ) -> publishFrequencyRange() );
+        _octaveRangeSelector.valueProperty().addListener(
+            ( observable, oldValue, newValue ) -> publishFrequencyRange() );
+        _centerFrequencySelector.centerFrequencyValueProperty().addListener(
+            ( observable, oldValue, newValue ) -> publishFrequencyRange() );
+
+        publishFrequencyRange();
+    }
+
+    // Make a headless model with the same settings as these controls, such as
+    // for parameter sweeps that run off the JavaFX Application Thread.
+    public FrequencyRangeModel makeFrequencyRangeModel() {
+        return new FrequencyRangeModel( _centerFrequencySelector.getBandTables(),
+                                        _useExtendedRange );
+    }
+
+    public ReadOnlyObjectProperty< FrequencyRange > frequencyRangeProperty() {
+        return _frequencyRange.getReadOnlyProperty();
+    }
+
+    // Get the last valid Frequency Range, or null if there hasn't been one.
+    public FrequencyRange getFrequencyRange() {
+        return _frequencyRange.get();
+    }
+
+    // Make a coalesced stream of Frequency Range changes, for downstream
+    // computations that should not see every intermediate value while the
+    // user scrolls through the selectors. The caller owns the stream, and
+    // should dispose of it when no longer needed.
+    public CoalescedValueStream< FrequencyRange > makeFrequencyRangeStream(
+            final CoalescedValueStream.CoalescingMode coalescingMode,
+            final Duration delay ) {
+        return new CoalescedValueStream<>( frequencyRangeProperty(),
+                                           coalescingMode,
+                                           delay );
+    }
+
+    public ReadOnlyBooleanProperty updatingProperty() {
+        return _updating.getReadOnlyProperty();
+    }
+
+    public boolean isUpdating() {
+        return _updating.get();
+    }
+
+    // Add a listener for Relative Bandwidth changes, which is muted during
+    // batch updates and then notified at most once, with the values from
+    // before and after the batch.
+    public void addRelativeBandwidthListener(
+            final ChangeListener< ? super RelativeBandwidth > listener ) {
+        addMutedListener( _relativeBandwidthSelector.valueProperty(), listener );
+    }
+
+    public void removeRelativeBandwidthListener(
+            final ChangeListener< ? super RelativeBandwidth > listener ) {
+        removeMutedListener( _relativeBandwidthSelector.valueProperty(), listener );
+    }
+
+    // Add a listener for Octave Range label changes, which is muted during
+    // batch updates and then notified at most once.
+    public void addOctaveRangeListener( final ChangeListener< ? super String > listener ) {
+        addMutedListener( _octaveRangeSelector.valueProperty(), listener );
+    }
+
+    public void removeOctaveRangeListener( final ChangeListener< ? super String > listener ) {
+        removeMutedListener( _octaveRangeSelector.valueProperty(), listener );
+    }
+
+    // Add a listener for numeric Center Frequency changes, which is muted
+    // during batch updates and then notified at most once.
+    public void addCenterFrequencyListener( final ChangeListener< ? super Number > listener ) {
+        addMutedListener( _centerFrequencySelector.centerFrequencyValueProperty(), listener );
+    }
+
+    public void removeCenterFrequencyListener( final ChangeListener< ? super Number > listener ) {
+        removeMutedListener( _centerFrequencySelector.centerFrequencyValueProperty(), listener );
+    }
+
+    private < T > void addMutedListener( final ObservableValue< T > observable,
+                                         final ChangeListener< ? super T > listener ) {
+        final MutedChangeListener< T > mutedListener = new MutedChangeListener<>( observable,
+                                                                                  listener );
+        _mutedListeners.add( mutedListener );
+        observable.addListener( mutedListener );
+    }
+
+    private < T > void removeMutedListener( final ObservableValue< T > observable,
+                                            final ChangeListener< ? super T > listener ) {
+        for ( int i = 0; i < _mutedListeners.size(); i++ ) {
+            final MutedChangeListener< ? > mutedListener = _mutedListeners.get( i );
+            if ( ( mutedListener._observable == observable )
+                    && ( mutedListener._listener == listener ) ) {
+                _mutedListeners.remove( i );
+                mutedListener.detach();
+                return;
+            }
+        }
+    }
+
+    // Start a batch update, during which no Frequency Range changes are
+    // published, and the listeners added via this class for the individual
+    // selectors are muted. Calls may be nested, but each must be matched by a
+    // call to endUpdate(), preferably from a finally block.
+    // NOTE: Listeners added directly to the selectors are not muted.
+    public void beginUpdate() {
+        if ( _updateDepth++ == 0 ) {
+            _updating.set( true );
+        }
+    }
+
+    // End a batch update; the outermost one notifies each muted listener at
+    // most once, then validates the combined state once and publishes at most
+    // one Frequency Range change.
+    public void endUpdate() {
+        if ( _updateDepth <= 0 ) {
+            return;
+        }
+
+        if ( --_updateDepth == 0 ) {
+            _updating.set( false );
+
+            // NOTE: Iterate over a copy, as a listener may add or remove
+            // listeners, and check the depth, as one may start a new batch.
+            for ( final MutedChangeListener< ? > mutedListener : new ArrayList<>( _mutedListeners ) ) {
+                if ( _updateDepth > 0 ) {
+                    break;
+                }
+                mutedListener.flush();
+            }
+
+            publishFrequencyRange();
+        }
+    }
+
+    // Run the supplied changes as a single batch update.
+    public void runUpdate( final Runnable update ) {
+        beginUpdate();
+        try {
+            update.run();
+        }
+        finally {
+            endUpdate();
+        }
+    }
+
+    private void publishFrequencyRange() {
+        if ( _updateDepth > 0 ) {
+            return;
+        }
+
+        // Only publish a combination that is valid as a whole, and only if it
+        // differs from what was last published.
+        final RelativeBandwidth relativeBandwidth = getRelativeBandwidth();
+        final OctaveRange octaveRange = getOctaveRangeValue();
+        final double centerFrequency = getCenterFrequencyValue();
+        if ( !_frequencyRangeModel.isValid( relativeBandwidth, octaveRange, centerFrequency ) ) {
+            return;
+        }
+
+        final FrequencyRange frequencyRange = _frequencyRange.get();
+        if ( ( frequencyRange != null )
+                && ( frequencyRange.getRelativeBandwidth() == relativeBandwidth )
+                && octaveRange.getLabel().equals( frequencyRange.getOctaveRange() )
+                && ( Double.compare( frequencyRange.getCenterFrequency(),
+                                     centerFrequency ) == 0 ) ) {
+            return;
+        }
+
+        _frequencyRange.set( new FrequencyRange( relativeBandwidth,
+                                                 octaveRange.getLabel(),
+                                                 centerFrequency ) );
+    }
+
+    // Switch both list-based selectors between replacing their items on every
+    // update and editing their items in place with minimal changes.
+    public void setIncrementalItemUpdates( final boolean incrementalItemUpdates ) {
+        _octaveRangeSelector.setIncrementalItemUpdates( incrementalItemUpdates );
+        _centerFrequencySelector.setIncrementalItemUpdates( incrementalItemUpdates );
     }
 
     public String getCenterFrequency() {
         return _centerFrequencySelector.getCenterFrequency();
     }
 
+    // Get the numeric Center Frequency without parsing the formatted value.
+    public double getCenterFrequencyValue() {
+        return _centerFrequencySelector.getCenterFrequencyValue();
+    }
+
+    public ReadOnlyDoubleProperty centerFrequencyValueProperty() {
+        return _centerFrequencySelector.centerFrequencyValueProperty();
+    }
+
     public String getOctaveRange() {
         return _octaveRangeSelector.getOctaveRange();
     }
 
+    public OctaveRange getOctaveRangeValue() {
+        return _octaveRangeSelector.getOctaveRangeValue();
+    }
+
     public RelativeBandwidth getRelativeBandwidth() {
         return _relativeBandwidthSelector.getValue();
     }
 
     public void setCenterFrequency( final String sOctaveRange,
                                     final double centerFrequency ) {
-        final String sCenterFrequency = FrequencySignalUtilities
-                .getFormattedFrequency( centerFrequency, _numberFormat );
-        _centerFrequencySelector.setCenterFrequency( sOctaveRange, sCenterFrequency );
+        _centerFrequencySelector.setCenterFrequency( sOctaveRange, centerFrequency );
+    }
+
+    public void setCenterFrequency( final OctaveRange octaveRange,
+                                    final double centerFrequency ) {
+        _centerFrequencySelector.setCenterFrequency( octaveRange, centerFrequency );
     }
 
     public void setOctaveRange( final String sOctaveRange ) {
@@ -117,22 +360,43 @@ public final class FrequencyRangeControls {
                                                                              preserveSelection );
     }
 
+    // Set the drop-list of Center Frequencies for a narrow band octave divider
+    // that may not have a Relative Bandwidth of its own, such as 1/96 octave.
+    public void updateCenterFrequencyForOctaveDividerAndOctave( final int octaveDivider,
+                                                                final OctaveRange octaveRange,
+                                                                final double centerFrequency,
+                                                                final boolean preserveSelection ) {
+        _centerFrequencySelector.updateCenterFrequencyForOctaveDividerAndOctave( octaveDivider,
+                                                                                 octaveRange,
+                                                                                 centerFrequency,
+                                                                                 preserveSelection );
+    }
+
     public void updateFrequencyRange( final FrequencyRange frequencyRange ) {
-        // Select the new Frequency Range values, which must be pre-vetted as
-        // valid. It is otherwise unsafe to set all three values at once.
-        final RelativeBandwidth relativeBandwidth = frequencyRange.getRelativeBandwidth();
-        final String sOctaveRange = frequencyRange.getOctaveRange();
-        final double centerFrequency = frequencyRange.getCenterFrequency();
-
-        setRelativeBandwidth( relativeBandwidth );
-        updateOctaveRangeForBandwidthAndFrequency( relativeBandwidth,
-                                                   sOctaveRange,
-                                                   centerFrequency );
-        final String sOctaveRangeCorrected = getOctaveRange();
-        updateCenterFrequencyForBandwidthAndOctave( relativeBandwidth,
-                                                    sOctaveRangeCorrected,
-                                                    centerFrequency,
-                                                    false );
+        // Normalize the new Frequency Range values up front, using the same
+        // rules as the selectors, so that only a valid combination is set.
+        _frequencyRangeModel.setFrequencyRange( frequencyRange );
+        final RelativeBandwidth relativeBandwidth = _frequencyRangeModel.getRelativeBandwidth();
+        final OctaveRange octaveRange = _frequencyRangeModel.getOctaveRange();
+        final double centerFrequency = _frequencyRangeModel.getCenterFrequency();
+
+        // NOTE: The three steps run as one batch update, so that listeners
+        // of the combined Frequency Range see a single change rather than
+        // the intermediate (and possibly invalid) states between steps.
+        beginUpdate();
+        try {
+            setRelativeBandwidth( relativeBandwidth );
+            _octaveRangeSelector.updateOctaveRangeForBandwidthAndFrequency( relativeBandwidth,
+                                                                            centerFrequency );
+            _octaveRangeSelector.setOctaveRangeValue( octaveRange );
+            _centerFrequencySelector.updateCenterFrequencyForBandwidthAndOctave( relativeBandwidth,
+                                                                                 octaveRange,
+                                                                                 centerFrequency,
+                                                                                 false );
+        }
+        finally {
+            endUpdate();
+        }
     }
 
     public void updateOctaveRangeForBandwidthAndFrequency( final RelativeBandwidth relativeBandwidth,
@@ -141,4 +405,66 @@ public final class FrequencyRangeControls {
         _octaveRangeSelector.updateOctaveRangeForBandwidthAndFrequency( relativeBandwidth,
                                                                         centerFrequency );
     }
+
+    /**
+     * A client listener on one of the selectors, which only records the value
+     * from before the first change while a batch update is in progress, and
+     * passes that on along with the final value once the batch has ended.
+     *
+     * @param <T>
+     *            The value type
+     */
+    private final class MutedChangeListener< T > implements ChangeListener< T > {
+
+        private final ObservableValue< T >        _observable;
+        private final ChangeListener< ? super T > _listener;
+
+        // The value from before the first change during a batch update, and
+        // whether there is such a change.
+        private T                                 _batchOldValue;
+        private boolean                           _changedDuringBatch;
+
+        MutedChangeListener( final ObservableValue< T > observable,
+                             final ChangeListener< ? super T > listener ) {
+            _observable = observable;
+            _listener = listener;
+            _batchOldValue = null;
+            _changedDuringBatch = false;
+        }
+
+        @Override
+        public void changed( final ObservableValue< ? extends T > observable,
+                             final T oldValue,
+                             final T newValue ) {
+            if ( _updateDepth > 0 ) {
+                if ( !_changedDuringBatch ) {
+                    _batchOldValue = oldValue;
+                    _changedDuringBatch = true;
+                }
+                return;
+            }
+
+            _listener.changed( observable, oldValue, newValue );
+        }
+
+        void detach() {
+            _observable.removeListener( this );
+        }
+
+        // Notify the client of the net change over a batch update, if any.
+        void flush() {
+            if ( !_changedDuringBatch ) {
+                return;
+            }
+
+            final T oldValue = _batchOldValue;
+            _batchOldValue = null;
+            _changedDuringBatch = false;
+
+            final T newValue = _observable.getValue();
+            if ( !Objects.equals( oldValue, newValue ) ) {
+                _listener.changed( _observable, oldValue, newValue );
+            }
+        }
+    }
 }
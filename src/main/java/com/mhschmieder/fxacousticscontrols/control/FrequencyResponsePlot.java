@@ -0,0 +1,590 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.control;
+
+import com.mhschmieder.fxacousticscontrols.action.FrequencyAmplitudeVerticalZoomChoices;
+import com.mhschmieder.fxacousticscontrols.action.FrequencyRangeHorizontalZoomChoices;
+import com.mhschmieder.fxacousticscontrols.model.FrequencyBinIndex;
+import com.mhschmieder.fxacousticscontrols.model.SmoothedResponse;
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import org.apache.commons.math3.util.FastMath;
+import org.controlsfx.control.action.Action;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A Canvas-based frequency response plot, on a log-frequency axis, that is
+ * driven by the Frequency Range Horizontal Zoom, Frequency Amplitude Vertical
+ * Zoom and Smoothing choices.
+ * <p>
+ * Each trace is reduced to one min/max pair per pixel column via a bin index
+ * for the response layout, and drawn as a single polyline, so the cost of a
+ * frame depends on the plot width and the number of traces but not on the
+ * density of the responses. Envelopes are only recomputed when trace data,
+ * Smoothing, horizontal zoom or width change; vertical zoom and height
+ * changes only re-render them. All changes within a pulse are coalesced
+ * into a single redraw.
+ * <p>
+ * Smoothed responses are only ever read from the smoothing service's cache on
+ * the JavaFX Application Thread. Traces that miss (typically right after a
+ * Smoothing change) keep showing their previous data while a parallel
+ * smoothing pipeline fills the cache off-thread, and are all reloaded
+ * together when it publishes, so smoothing never stalls the UI.
+ * <p>
+ * This class must only be used from the JavaFX Application Thread.
+ */
+public final class FrequencyResponsePlot extends Region {
+
+    // Default number of vertical grid divisions, split evenly about the
+    // reference level.
+    public static final int    VERTICAL_DIVISIONS_DEFAULT = 10;
+
+    // Default grid line color, which should not compete with the traces.
+    public static final Color  GRID_COLOR_DEFAULT         = Color.rgb( 128, 128, 128, 0.4d );
+
+    // The canvas that the grid and the traces are drawn on.
+    private final Canvas                        _canvas;
+
+    // The source of smoothed responses, per trace and current Smoothing.
+    private final SmoothedResponseService       _smoothedResponseService;
+
+    // The pipeline that smooths cache misses off the JavaFX thread.
+    private final ParallelSmoothingPipeline     _smoothingPipeline;
+
+    // The traces, in drawing order, by trace ID.
+    private final Map< String, PlotTrace >      _traces;
+
+    // The bin index for the response layout shared by all of the traces.
+    private FrequencyBinIndex                   _frequencyBinIndex;
+
+    // The current zoom state.
+    private final IntegerProperty               _frequencyRangeHorizontalZoomIndex;
+    private final IntegerProperty               _verticalGridSpacing;
+    private final IntegerProperty               _verticalDivisions;
+    private final DoubleProperty                _referenceDb;
+
+    // The grid line color.
+    private Paint                               _gridColor;
+
+    // Scratch buffers for the polyline of one trace, reused across frames.
+    private double[]                            _polylineX;
+    private double[]                            _polylineY;
+
+    // Flags for what needs doing at the next pulse.
+    private boolean                             _envelopesDirty;
+    private boolean                             _redrawPending;
+    private boolean                             _traceIdsDirty;
+    private boolean                             _smoothingRequested;
+
+    // Our listener on the smoothing service's octave divider, for disposal.
+    private final ChangeListener< Number >      _smoothingListener;
+
+    // The timer that coalesces all changes within a pulse into one redraw.
+    private final AnimationTimer                _redrawTimer;
+
+    public FrequencyResponsePlot( final SmoothedResponseService smoothedResponseService ) {
+        this( smoothedResponseService, ForkJoinPool.commonPool() );
+    }
+
+    public FrequencyResponsePlot( final SmoothedResponseService smoothedResponseService,
+                                  final ForkJoinPool forkJoinPool ) {
+        _smoothedResponseService = smoothedResponseService;
+        _smoothingPipeline = new ParallelSmoothingPipeline( smoothedResponseService,
+                                                            forkJoinPool );
+        _traces = new LinkedHashMap<>();
+        _frequencyBinIndex = null;
+        _gridColor = GRID_COLOR_DEFAULT;
+        _polylineX = new double[ 0 ];
+        _polylineY = new double[ 0 ];
+        _envelopesDirty = true;
+        _redrawPending = false;
+        _traceIdsDirty = false;
+        _smoothingRequested = false;
+
+        _canvas = new Canvas();
+        getChildren().add( _canvas );
+
+        _frequencyRangeHorizontalZoomIndex = new SimpleIntegerProperty(
+                this,
+                "frequencyRangeHorizontalZoomIndex", //$NON-NLS-1$
+                FrequencyRangeHorizontalZoomChoices.ZOOM_FULL_RANGE );
+        _verticalGridSpacing = new SimpleIntegerProperty( this, "verticalGridSpacing", 10 ); //$NON-NLS-1$
+        _verticalDivisions = new SimpleIntegerProperty( this,
+                                                        "verticalDivisions", //$NON-NLS-1$
+                                                        VERTICAL_DIVISIONS_DEFAULT );
+        _referenceDb = new SimpleDoubleProperty( this, "referenceDb", 0.0d ); //$NON-NLS-1$
+
+        _redrawTimer = new AnimationTimer() {
+            @Override
+            public void handle( final long now ) {
+                stop();
+                requestSmoothing();
+                redraw();
+            }
+        };
+
+        // Horizontal zoom changes which bins fall in which column, whereas
+        // vertical zoom only changes how the envelopes are scaled.
+        _frequencyRangeHorizontalZoomIndex.addListener( ( observable,
+                                                          oldValue,
+                                                          newValue ) -> invalidateEnvelopes() );
+        _verticalGridSpacing.addListener( ( observable, oldValue, newValue ) -> scheduleRedraw() );
+        _verticalDivisions.addListener( ( observable, oldValue, newValue ) -> scheduleRedraw() );
+        _referenceDb.addListener( ( observable, oldValue, newValue ) -> scheduleRedraw() );
+
+        // A new Smoothing means new data for every trace; whatever is cached
+        // is shown right away, and the pipeline (which follows the Smoothing
+        // itself) smooths the rest.
+        _smoothingListener = ( observable, oldValue, newValue ) -> reloadTraces();
+        _smoothedResponseService.smoothingOctaveDividerProperty()
+                .addListener( _smoothingListener );
+
+        // Swap in each completed batch all at once.
+        _smoothingPipeline.smoothedResponsesProperty()
+                .addListener( ( observable, oldValue, newValue ) -> applySmoothedResponses(
+                        newValue ) );
+    }
+
+    public IntegerProperty frequencyRangeHorizontalZoomIndexProperty() {
+        return _frequencyRangeHorizontalZoomIndex;
+    }
+
+    public IntegerProperty verticalGridSpacingProperty() {
+        return _verticalGridSpacing;
+    }
+
+    public IntegerProperty verticalDivisionsProperty() {
+        return _verticalDivisions;
+    }
+
+    // The level at the middle of the vertical scale, in dB.
+    public DoubleProperty referenceDbProperty() {
+        return _referenceDb;
+    }
+
+    public void setGridColor( final Paint gridColor ) {
+        _gridColor = gridColor;
+        scheduleRedraw();
+    }
+
+    // Follow the Horizontal Zoom selected in a group of Frequency Range
+    // Horizontal Zoom choices.
+    public void bindToHorizontalZoomChoices( final FrequencyRangeHorizontalZoomChoices frequencyRangeHorizontalZoomChoices ) {
+        for ( final Action zoomChoice : frequencyRangeHorizontalZoomChoices
+                .getFrequencyRangeHorizontalZoomChoiceGroup().getActions() ) {
+            zoomChoice.selectedProperty().addListener( ( observable, oldValue, newValue ) -> {
+                if ( newValue ) {
+                    _frequencyRangeHorizontalZoomIndex.set( frequencyRangeHorizontalZoomChoices
+                            .getFrequencyRangeHorizontalZoomIndex() );
+                }
+            } );
+        }
+
+        _frequencyRangeHorizontalZoomIndex
+                .set( frequencyRangeHorizontalZoomChoices.getFrequencyRangeHorizontalZoomIndex() );
+    }
+
+    // Follow the Vertical Zoom selected in a group of Frequency Amplitude
+    // Vertical Zoom choices.
+    public void bindToVerticalZoomChoices( final FrequencyAmplitudeVerticalZoomChoices frequencyAmplitudeVerticalZoomChoices ) {
+        for ( final Action zoomChoice : frequencyAmplitudeVerticalZoomChoices
+                .getFrequencyAmplitudeVerticalZoomChoiceGroup().getActions() ) {
+            zoomChoice.selectedProperty().addListener( ( observable, oldValue, newValue ) -> {
+                if ( newValue ) {
+                    _verticalGridSpacing.set( frequencyAmplitudeVerticalZoomChoices
+                            .getVerticalGridSpacing() );
+                }
+            } );
+        }
+
+        _verticalGridSpacing.set( frequencyAmplitudeVerticalZoomChoices.getVerticalGridSpacing() );
+    }
+
+    /**
+     * Sets the response layout shared by all of the traces, which is indexed
+     * once against the Horizontal Zoom presets.
+     *
+     * @param binFrequencies
+     *            The bin frequencies, in Hz, in ascending order
+     * @param binCount
+     *            The number of valid bins
+     */
+    public void setBinFrequencies( final double[] binFrequencies, final int binCount ) {
+        _frequencyBinIndex = FrequencyRangeHorizontalZoomChoices
+                .makeFrequencyBinIndex( binFrequencies, binCount );
+        invalidateEnvelopes();
+    }
+
+    // Add a trace, or change the stroke of an existing one.
+    public void addTrace( final String traceId, final Paint stroke ) {
+        PlotTrace trace = _traces.get( traceId );
+        if ( trace == null ) {
+            trace = new PlotTrace( traceId );
+            _traces.put( traceId, trace );
+            _traceIdsDirty = true;
+            loadTrace( trace );
+        }
+        trace._stroke = stroke;
+        scheduleRedraw();
+    }
+
+    public void removeTrace( final String traceId ) {
+        if ( _traces.remove( traceId ) != null ) {
+            _traceIdsDirty = true;
+            scheduleRedraw();
+        }
+    }
+
+    public void clearTraces() {
+        _traces.clear();
+        _traceIdsDirty = true;
+        scheduleRedraw();
+    }
+
+    public void setTraceVisible( final String traceId, final boolean visible ) {
+        final PlotTrace trace = _traces.get( traceId );
+        if ( ( trace != null ) && ( trace._visible != visible ) ) {
+            trace._visible = visible;
+            scheduleRedraw();
+        }
+    }
+
+    // Reload a trace whose raw data changed, dropping its cached smoothings.
+    public void invalidateTrace( final String traceId ) {
+        final PlotTrace trace = _traces.get( traceId );
+        if ( trace != null ) {
+            // NOTE: A batch in flight may still hold the old data, so it is
+            // abandoned in favour of the one requested at the next pulse.
+            _smoothingPipeline.cancel();
+            _smoothedResponseService.invalidateTrace( traceId );
+            loadTrace( trace );
+            scheduleRedraw();
+        }
+    }
+
+    // Stop following the Smoothing and abandon any smoothing in flight.
+    public void dispose() {
+        _redrawTimer.stop();
+        _smoothedResponseService.smoothingOctaveDividerProperty()
+                .removeListener( _smoothingListener );
+        _smoothingPipeline.dispose();
+    }
+
+    @Override
+    protected void layoutChildren() {
+        final double width = Math.floor( getWidth() );
+        final double height = Math.floor( getHeight() );
+        if ( width != _canvas.getWidth() ) {
+            _canvas.setWidth( width );
+            invalidateEnvelopes();
+        }
+        if ( height != _canvas.getHeight() ) {
+            _canvas.setHeight( height );
+            scheduleRedraw();
+        }
+    }
+
+    private void reloadTraces() {
+        for ( final PlotTrace trace : _traces.values() ) {
+            loadTrace( trace );
+        }
+
+        // NOTE: The pipeline submits its own batch on a Smoothing change, so
+        // misses found here don't need another one.
+        _smoothingRequested = false;
+        scheduleRedraw();
+    }
+
+    // Load a trace from the cache only; on a miss, keep its current data and
+    // leave the smoothing to the pipeline.
+    private void loadTrace( final PlotTrace trace ) {
+        final SmoothedResponse smoothedResponse = _smoothedResponseService
+                .getSmoothedResponseCache()
+                .get( trace._traceId, _smoothedResponseService.getSmoothingOctaveDivider() );
+        if ( smoothedResponse != null ) {
+            setTraceResponse( trace, smoothedResponse );
+        }
+        else {
+            _smoothingRequested = true;
+        }
+    }
+
+    private void applySmoothedResponses( final Map< String, SmoothedResponse > smoothedResponses ) {
+        for ( final PlotTrace trace : _traces.values() ) {
+            final SmoothedResponse smoothedResponse = smoothedResponses.get( trace._traceId );
+            if ( smoothedResponse != null ) {
+                setTraceResponse( trace, smoothedResponse );
+            }
+        }
+        scheduleRedraw();
+    }
+
+    private static void setTraceResponse( final PlotTrace trace,
+                                          final SmoothedResponse smoothedResponse ) {
+        final double[] magnitudesDb = smoothedResponse.getMagnitudes();
+        if ( magnitudesDb != trace._magnitudesDb ) {
+            trace._magnitudesDb = magnitudesDb;
+            trace._envelopeDirty = true;
+        }
+    }
+
+    // Hand the current traces to the pipeline, and/or have it smooth any
+    // cache misses, once per pulse at most.
+    private void requestSmoothing() {
+        if ( _traceIdsDirty ) {
+            // NOTE: Setting the traces also submits a batch at the current
+            // Smoothing, which covers any pending cache misses.
+            _traceIdsDirty = false;
+            _smoothingRequested = false;
+            _smoothingPipeline.setTraceIds( new ArrayList<>( _traces.keySet() ) );
+        }
+        else if ( _smoothingRequested ) {
+            _smoothingRequested = false;
+            _smoothingPipeline.submitBatch();
+        }
+    }
+
+    private void invalidateEnvelopes() {
+        _envelopesDirty = true;
+        scheduleRedraw();
+    }
+
+    private void scheduleRedraw() {
+        if ( !_redrawPending ) {
+            _redrawPending = true;
+
+            // NOTE: Starting a timer that is already running is harmless, and
+            // it is stopped again as soon as the next pulse redraws.
+            _redrawTimer.start();
+        }
+    }
+
+    private void redraw() {
+        _redrawPending = false;
+
+        // Hand the global invalidation down to each trace, as hidden traces
+        // only catch up once they are drawn again.
+        if ( _envelopesDirty ) {
+            for ( final PlotTrace trace : _traces.values() ) {
+                trace._envelopeDirty = true;
+            }
+            _envelopesDirty = false;
+        }
+
+        final int columnCount = ( int ) _canvas.getWidth();
+        final double height = _canvas.getHeight();
+        final GraphicsContext graphicsContext = _canvas.getGraphicsContext2D();
+        graphicsContext.clearRect( 0.0d, 0.0d, columnCount, height );
+        if ( ( columnCount <= 0 ) || ( height <= 0.0d ) ) {
+            return;
+        }
+
+        final int zoomIndex = _frequencyRangeHorizontalZoomIndex.get();
+        final double minimumFrequency = FrequencyRangeHorizontalZoomChoices
+                .getMinimumFrequency( zoomIndex );
+        final double maximumFrequency = FrequencyRangeHorizontalZoomChoices
+                .getMaximumFrequency( zoomIndex );
+        final int verticalDivisions = Math.max( 1, _verticalDivisions.get() );
+        final double dbPerDivision = Math.max( 1, _verticalGridSpacing.get() );
+        final double topDb = _referenceDb.get() + ( 0.5d * verticalDivisions * dbPerDivision );
+        final double pixelsPerDb = height / ( verticalDivisions * dbPerDivision );
+
+        drawGrid( graphicsContext,
+                  columnCount,
+                  height,
+                  minimumFrequency,
+                  maximumFrequency,
+                  verticalDivisions );
+
+        if ( _frequencyBinIndex == null ) {
+            return;
+        }
+
+        ensurePolylineCapacity( 2 * columnCount );
+        graphicsContext.setLineWidth( 1.0d );
+        for ( final PlotTrace trace : _traces.values() ) {
+            if ( !trace._visible || ( trace._magnitudesDb == null ) ) {
+                continue;
+            }
+
+            if ( trace._envelopeDirty || ( trace._columnMinima.length != columnCount ) ) {
+                updateEnvelope( trace, zoomIndex, columnCount );
+            }
+
+            graphicsContext.setStroke( trace._stroke );
+            drawEnvelope( graphicsContext, trace, columnCount, height, topDb, pixelsPerDb );
+        }
+    }
+
+    private void updateEnvelope( final PlotTrace trace,
+                                 final int zoomIndex,
+                                 final int columnCount ) {
+        if ( trace._columnMinima.length != columnCount ) {
+            trace._columnMinima = new double[ columnCount ];
+            trace._columnMaxima = new double[ columnCount ];
+        }
+
+        // NOTE: Traces that don't match the response layout are left blank
+        // rather than read out of bounds.
+        if ( trace._magnitudesDb.length < _frequencyBinIndex.getBinCount() ) {
+            Arrays.fill( trace._columnMinima, Double.NaN );
+            Arrays.fill( trace._columnMaxima, Double.NaN );
+        }
+        else {
+            _frequencyBinIndex.aggregateColumns( zoomIndex,
+                                                 columnCount,
+                                                 trace._magnitudesDb,
+                                                 0,
+                                                 trace._columnMinima,
+                                                 trace._columnMaxima );
+        }
+
+        trace._envelopeDirty = false;
+    }
+
+    private void drawEnvelope( final GraphicsContext graphicsContext,
+                               final PlotTrace trace,
+                               final int columnCount,
+                               final double height,
+                               final double topDb,
+                               final double pixelsPerDb ) {
+        // Each column contributes its maximum then its minimum, so that the
+        // polyline fills in the envelope; a gap breaks the polyline.
+        int pointCount = 0;
+        for ( int column = 0; column < columnCount; column++ ) {
+            final double minimumDb = trace._columnMinima[ column ];
+            final double maximumDb = trace._columnMaxima[ column ];
+            if ( Double.isNaN( minimumDb ) || Double.isNaN( maximumDb ) ) {
+                if ( pointCount > 1 ) {
+                    graphicsContext.strokePolyline( _polylineX, _polylineY, pointCount );
+                }
+                pointCount = 0;
+                continue;
+            }
+
+            final double x = column + 0.5d;
+            _polylineX[ pointCount ] = x;
+            _polylineY[ pointCount++ ] = toY( maximumDb, height, topDb, pixelsPerDb );
+            _polylineX[ pointCount ] = x;
+            _polylineY[ pointCount++ ] = toY( minimumDb, height, topDb, pixelsPerDb );
+        }
+        if ( pointCount > 1 ) {
+            graphicsContext.strokePolyline( _polylineX, _polylineY, pointCount );
+        }
+    }
+
+    private static double toY( final double levelDb,
+                               final double height,
+                               final double topDb,
+                               final double pixelsPerDb ) {
+        // NOTE: Clamp just outside the plot, so that off-scale values still
+        // draw as lines leaving the plot rather than as huge coordinates.
+        final double y = ( topDb - levelDb ) * pixelsPerDb;
+        return Math.max( -1.0d, Math.min( height + 1.0d, y ) );
+    }
+
+    private void drawGrid( final GraphicsContext graphicsContext,
+                           final int columnCount,
+                           final double height,
+                           final double minimumFrequency,
+                           final double maximumFrequency,
+                           final int verticalDivisions ) {
+        graphicsContext.setStroke( _gridColor );
+        graphicsContext.setLineWidth( 1.0d );
+
+        for ( int division = 0; division <= verticalDivisions; division++ ) {
+            final double y = Math.floor( ( division * height ) / verticalDivisions ) + 0.5d;
+            graphicsContext.strokeLine( 0.0d, y, columnCount, y );
+        }
+
+        // Draw frequency lines on a 1-2-5 sequence, which reads well on a log
+        // axis at every zoom.
+        final double logMinimumFrequency = FastMath.log( minimumFrequency );
+        final double pixelsPerLogFrequency = columnCount
+                / ( FastMath.log( maximumFrequency ) - logMinimumFrequency );
+        for ( double decade = FastMath.pow( 10.0d, FastMath.floor( FastMath.log10( minimumFrequency ) ) );
+              decade <= maximumFrequency;
+              decade *= 10.0d ) {
+            for ( final double multiplier : new double[] { 1.0d, 2.0d, 5.0d } ) {
+                final double frequency = decade * multiplier;
+                if ( ( frequency < minimumFrequency ) || ( frequency > maximumFrequency ) ) {
+                    continue;
+                }
+                final double x = Math.floor( ( FastMath.log( frequency ) - logMinimumFrequency )
+                        * pixelsPerLogFrequency ) + 0.5d;
+                graphicsContext.strokeLine( x, 0.0d, x, height );
+            }
+        }
+    }
+
+    private void ensurePolylineCapacity( final int pointCount ) {
+        if ( _polylineX.length < pointCount ) {
+            _polylineX = new double[ pointCount ];
+            _polylineY = new double[ pointCount ];
+        }
+    }
+
+    // The per-trace state, including its cached per-column envelope.
+    private static final class PlotTrace {
+
+        private final String _traceId;
+        private Paint        _stroke;
+        private boolean      _visible;
+        private double[]     _magnitudesDb;
+        private double[]     _columnMinima;
+        private double[]     _columnMaxima;
+        private boolean      _envelopeDirty;
+
+        PlotTrace( final String traceId ) {
+            _traceId = traceId;
+            _stroke = Color.BLACK;
+            _visible = true;
+            _magnitudesDb = null;
+            _columnMinima = new double[ 0 ];
+            _columnMaxima = new double[ 0 ];
+            _envelopeDirty = true;
+        }
+    }
+}
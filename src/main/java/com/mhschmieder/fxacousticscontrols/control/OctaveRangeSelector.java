@@ -30,11 +30,16 @@
  */
 package com.mhschmieder.fxacousticscontrols.control;
 
+import com.mhschmieder.fxacousticscontrols.model.FrequencyRangeModel;
+import com.mhschmieder.fxacousticscontrols.model.OctaveRange;
 import com.mhschmieder.fxcontrols.control.TextSelector;
 import com.mhschmieder.jacoustics.FrequencyRange;
 import com.mhschmieder.jacoustics.RelativeBandwidth;
 import com.mhschmieder.jcommons.util.ClientProperties;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * A selector for a switchable enumeration of Octave Ranges.
  * <p>
@@ -48,42 +53,43 @@ public class OctaveRangeSelector extends TextSelector {
     public static final String    OCTAVE_RANGE_NARROW_DEFAULT =
                                                               FrequencyRange.OCTAVE_RANGE_NARROW_DEFAULT;
 
-    // List the single wide Octave Range for full frequency spectrum.
-    private static final String[] OCTAVE_RANGES_WIDE          =
-                                                     new String[] { OCTAVE_RANGE_WIDE_DEFAULT };
-
-    // List each narrow Octave Range as a full inclusive range.
-    private static final String[] OCTAVE_RANGES_NARROW        = new String[] {
-                                                                               "20 Hz to 40 Hz",                   //$NON-NLS-1$
-                                                                               "40 Hz to 80 Hz",                   //$NON-NLS-1$
-                                                                               "80 Hz to 160 Hz",                  //$NON-NLS-1$
-                                                                               "160 Hz to 315 Hz",                 //$NON-NLS-1$
-                                                                               "315 Hz to 630 Hz",                 //$NON-NLS-1$
-                                                                               "630 Hz to 1.25 kHz",               //$NON-NLS-1$
-                                                                               "1.25 kHz to 2.5 kHz",              //$NON-NLS-1$
-                                                                               "2.5 kHz to 5 kHz",                 //$NON-NLS-1$
-                                                                               "5 kHz to 10 kHz",                  //$NON-NLS-1$
-                                                                               "10 kHz to 20 kHz"                  //$NON-NLS-1$
-    };
-    private static final String[] OCTAVE_RANGES_NARROW_EXTENDED = new String[] {
-                                                                               "10 Hz to 20 Hz",                   //$NON-NLS-1$
-                                                                               "20 Hz to 40 Hz",                   //$NON-NLS-1$
-                                                                               "40 Hz to 80 Hz",                   //$NON-NLS-1$
-                                                                               "80 Hz to 160 Hz",                  //$NON-NLS-1$
-                                                                               "160 Hz to 315 Hz",                 //$NON-NLS-1$
-                                                                               "315 Hz to 630 Hz",                 //$NON-NLS-1$
-                                                                               "630 Hz to 1.25 kHz",               //$NON-NLS-1$
-                                                                               "1.25 kHz to 2.5 kHz",              //$NON-NLS-1$
-                                                                               "2.5 kHz to 5 kHz",                 //$NON-NLS-1$
-                                                                               "5 kHz to 10 kHz",                  //$NON-NLS-1$
-                                                                               "10 kHz to 20 kHz"                  //$NON-NLS-1$
-    };
-    
+    // List the single wide Octave Range for full frequency spectrum, and each
+    // narrow Octave Range as a full inclusive range, as typed values.
+    private static final List< OctaveRange > OCTAVE_RANGES_WIDE            = OctaveRange
+            .getOctaveRanges( RelativeBandwidth.ONE_OCTAVE, false );
+    private static final List< OctaveRange > OCTAVE_RANGES_NARROW          = OctaveRange
+            .getOctaveRanges( RelativeBandwidth.SIXTH_OCTAVE, false );
+    private static final List< OctaveRange > OCTAVE_RANGES_NARROW_EXTENDED = OctaveRange
+            .getOctaveRanges( RelativeBandwidth.SIXTH_OCTAVE, true );
+
+    // Cache the display labels of the Octave Ranges, which are the items.
+    private static final String[] OCTAVE_RANGE_LABELS_WIDE            = toLabels(
+            OCTAVE_RANGES_WIDE );
+    private static final String[] OCTAVE_RANGE_LABELS_NARROW          = toLabels(
+            OCTAVE_RANGES_NARROW );
+    private static final String[] OCTAVE_RANGE_LABELS_NARROW_EXTENDED = toLabels(
+            OCTAVE_RANGES_NARROW_EXTENDED );
+
+    private static String[] toLabels( final List< OctaveRange > octaveRanges ) {
+        final String[] labels = new String[ octaveRanges.size() ];
+        for ( int i = 0; i < labels.length; i++ ) {
+            labels[ i ] = octaveRanges.get( i ).getLabel();
+        }
+        return labels;
+    }
+
     // Flag for whether to use the low frequency extended range, which goes
     // below the normal human hearing range but might be useful for scientific
     // applications as well as entertainment oriented sound effects.
     protected final boolean _useExtendedRange;
 
+    // Flag for whether to edit the current list of items in place rather than
+    // replacing it, which avoids rebuilding the list when nothing changed.
+    private boolean         _incrementalItemUpdates;
+
+    // The typed Octave Ranges that match the current list of items.
+    private List< OctaveRange > _octaveRanges;
+
     public OctaveRangeSelector( final ClientProperties pClientProperties,
                                 final boolean applyToolkitCss,
                                 final boolean useExtendedRange ) {
@@ -96,10 +102,19 @@ public class OctaveRangeSelector extends TextSelector {
                12,
                OCTAVE_RANGE_NARROW_DEFAULT,
                useExtendedRange
-                   ? OCTAVE_RANGES_NARROW_EXTENDED
-                   : OCTAVE_RANGES_NARROW );
+                   ? OCTAVE_RANGE_LABELS_NARROW_EXTENDED
+                   : OCTAVE_RANGE_LABELS_NARROW );
         
         _useExtendedRange = useExtendedRange;
+        _octaveRanges = useExtendedRange ? OCTAVE_RANGES_NARROW_EXTENDED : OCTAVE_RANGES_NARROW;
+    }
+
+    public final boolean isIncrementalItemUpdates() {
+        return _incrementalItemUpdates;
+    }
+
+    public final void setIncrementalItemUpdates( final boolean incrementalItemUpdates ) {
+        _incrementalItemUpdates = incrementalItemUpdates;
     }
 
     public final String getOctaveRange() {
@@ -110,25 +125,55 @@ public class OctaveRangeSelector extends TextSelector {
         setTextValue( sOctaveRange );
     }
 
+    // Get the selected Octave Range as a typed value, which is looked up by
+    // selection index rather than by parsing the display label.
+    public final OctaveRange getOctaveRangeValue() {
+        final String sOctaveRange = getValue();
+        final int selectedIndex = getSelectionModel().getSelectedIndex();
+        if ( ( selectedIndex >= 0 ) && ( selectedIndex < _octaveRanges.size() ) ) {
+            final OctaveRange octaveRange = _octaveRanges.get( selectedIndex );
+            if ( octaveRange.getLabel().equals( sOctaveRange ) ) {
+                return octaveRange;
+            }
+        }
+
+        return OctaveRange.fromLabel( sOctaveRange );
+    }
+
+    public final void setOctaveRangeValue( final OctaveRange octaveRange ) {
+        setOctaveRange( octaveRange.getLabel() );
+    }
+
     // Set the drop-list of Octave Ranges based on Relative Bandwidth.
     public final void updateOctaveRangeForBandwidthAndFrequency( final RelativeBandwidth relativeBandwidth,
                                                                  final double centerFrequency ) {
         // Determine and set the correct Octave Ranges to use.
-        final String[] octaveRanges = ( RelativeBandwidth.ONE_OCTAVE.equals( relativeBandwidth )
-                || RelativeBandwidth.THIRD_OCTAVE.equals( relativeBandwidth ) )
-                    ? OCTAVE_RANGES_WIDE
-                    : _useExtendedRange
-                        ? OCTAVE_RANGES_NARROW_EXTENDED
-                        : OCTAVE_RANGES_NARROW;
+        final boolean wideBand = OctaveRange.isWideBand( relativeBandwidth );
+        final List< OctaveRange > octaveRanges = OctaveRange
+                .getOctaveRanges( relativeBandwidth, _useExtendedRange );
+        final String[] octaveRangeLabels = wideBand
+            ? OCTAVE_RANGE_LABELS_WIDE
+            : _useExtendedRange
+                ? OCTAVE_RANGE_LABELS_NARROW_EXTENDED
+                : OCTAVE_RANGE_LABELS_NARROW;
+        _octaveRanges = octaveRanges;
 
         // Determine which Octave Range contains the current Center Frequency.
-        final String defaultOctaveRange = ( RelativeBandwidth.ONE_OCTAVE.equals( relativeBandwidth )
-                || RelativeBandwidth.THIRD_OCTAVE.equals( relativeBandwidth ) )
-                    ? OCTAVE_RANGE_WIDE_DEFAULT
-                    : FrequencyRange
-                            .getNominalOctaveRangeDefaultForCenterFrequency( centerFrequency );
+        final OctaveRange defaultOctaveRange = FrequencyRangeModel
+                .getOctaveRangeDefault( relativeBandwidth, centerFrequency, _useExtendedRange );
+
+        // Edit the current list in place if requested, such as when switching
+        // between Full Octave and Third Octave, as the single wide Octave Range
+        // is then re-asserted with no effective change.
+        if ( _incrementalItemUpdates ) {
+            SelectorUpdateUtilities.updateItems( this,
+                                                 Arrays.asList( octaveRangeLabels ),
+                                                 defaultOctaveRange.getLabel(),
+                                                 true );
+            return;
+        }
 
         // Replace the entire list, and re-assert or default the selection.
-        updateValues( octaveRanges, defaultOctaveRange, true );
+        updateValues( octaveRangeLabels, defaultOctaveRange.getLabel(), true );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,297 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.control;
+
+import com.mhschmieder.fxacousticscontrols.model.FractionalOctaveSmoother;
+import com.mhschmieder.fxacousticscontrols.model.SmoothedResponse;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ChangeListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A batch smoothing pipeline that re-smooths all overlay traces in parallel on
+ * a fork-join pool whenever the Smoothing selection changes.
+ * <p>
+ * Each new batch supersedes any batch that is still in flight, which stops
+ * picking up new traces as soon as it notices. The results of a completed
+ * batch are handed to the JavaFX Application Thread and published together,
+ * as one immutable map, so that views never see a mix of old and new
+ * Smoothing. A trace that fails to smooth is reported and left out of the
+ * map, rather than failing the whole batch.
+ */
+public final class ParallelSmoothingPipeline {
+
+    /**
+     * The source of the raw frequency responses to smooth.
+     */
+    public interface RawResponseSource {
+        // Get the ascending, positive bin frequencies of a trace.
+        double[] getFrequencies( String traceId );
+
+        // Get the raw magnitudes of a trace, in dB, which are smoothed as is.
+        double[] getMagnitudes( String traceId );
+
+        // Get the raw unwrapped phases of a trace, or null if there are none.
+        double[] getPhases( String traceId );
+    }
+
+    // Number of traces below which a batch is not split any further.
+    private static final int SEQUENTIAL_THRESHOLD = 2;
+
+    // The smoothing service, whose cache means unchanged traces are free.
+    private final SmoothedResponseService _smoothedResponseService;
+
+    // The pool that batches are run on.
+    private final ForkJoinPool            _forkJoinPool;
+
+    // The generation of the latest batch; older batches are abandoned.
+    private final AtomicLong              _batchGeneration;
+
+    // The traces to smooth, in display order.
+    private List< String >                _traceIds;
+
+    // The latest complete set of smoothed responses, by trace ID.
+    private final ReadOnlyObjectWrapper< Map< String, SmoothedResponse > > _smoothedResponses;
+
+    // Our listener on the smoothing service's octave divider.
+    private final ChangeListener< Number > _smoothingListener;
+
+    public ParallelSmoothingPipeline( final SmoothedResponseService smoothedResponseService ) {
+        this( smoothedResponseService, ForkJoinPool.commonPool() );
+    }
+
+    public ParallelSmoothingPipeline( final SmoothedResponseService smoothedResponseService,
+                                      final ForkJoinPool forkJoinPool ) {
+        _smoothedResponseService = smoothedResponseService;
+        _forkJoinPool = forkJoinPool;
+        _batchGeneration = new AtomicLong( 0L );
+        _traceIds = Collections.emptyList();
+        _smoothedResponses = new ReadOnlyObjectWrapper<>( this,
+                                                          "smoothedResponses", //$NON-NLS-1$
+                                                          Collections.emptyMap() );
+
+        // Re-smooth everything whenever the bound Smoothing controls change.
+        _smoothingListener = ( observable, oldValue, newValue ) -> submitBatch();
+        _smoothedResponseService.smoothingOctaveDividerProperty()
+                .addListener( _smoothingListener );
+    }
+
+    /**
+     * Makes a response smoother that applies fractional-octave smoothing to
+     * the raw responses from the given source, using one smoother (and thus
+     * one scratch buffer) per worker thread.
+     *
+     * @param rawResponseSource
+     *            The source of the raw frequency responses
+     * @return A response smoother for the smoothing service
+     */
+    public static SmoothedResponseService.ResponseSmoother makeFractionalOctaveSmoother(
+            final RawResponseSource rawResponseSource ) {
+        final ThreadLocal< FractionalOctaveSmoother > smoothers = ThreadLocal
+                .withInitial( FractionalOctaveSmoother::new );
+        return ( traceId, octaveDivider ) -> {
+            final double[] frequencies = rawResponseSource.getFrequencies( traceId );
+            final double[] magnitudes = rawResponseSource.getMagnitudes( traceId );
+            final double[] phases = rawResponseSource.getPhases( traceId );
+            if ( ( frequencies == null ) || ( magnitudes == null ) ) {
+                return null;
+            }
+
+            final FractionalOctaveSmoother smoother = smoothers.get();
+            final double[] smoothedMagnitudes = new double[ magnitudes.length ];
+            smoother.smooth( frequencies,
+                             magnitudes,
+                             magnitudes.length,
+                             octaveDivider,
+                             smoothedMagnitudes );
+
+            double[] smoothedPhases = null;
+            if ( phases != null ) {
+                smoothedPhases = new double[ phases.length ];
+                smoother.smooth( frequencies, phases, phases.length, octaveDivider, smoothedPhases );
+            }
+
+            return new SmoothedResponse( smoothedMagnitudes, smoothedPhases );
+        };
+    }
+
+    public ReadOnlyObjectProperty< Map< String, SmoothedResponse > > smoothedResponsesProperty() {
+        return _smoothedResponses.getReadOnlyProperty();
+    }
+
+    // Get the latest complete set of smoothed responses, by trace ID.
+    public Map< String, SmoothedResponse > getSmoothedResponses() {
+        return _smoothedResponses.get();
+    }
+
+    // Set the traces to smooth, and smooth them at the current Smoothing.
+    public void setTraceIds( final List< String > traceIds ) {
+        _traceIds = Collections.unmodifiableList( new ArrayList<>( traceIds ) );
+        submitBatch();
+    }
+
+    // Abandon any batch that is in flight, without starting another.
+    public void cancel() {
+        _batchGeneration.incrementAndGet();
+    }
+
+    // Stop following the Smoothing controls and abandon any batch in flight.
+    public void dispose() {
+        _smoothedResponseService.smoothingOctaveDividerProperty()
+                .removeListener( _smoothingListener );
+        cancel();
+    }
+
+    /**
+     * Smooths all traces at the current Smoothing, superseding any batch that
+     * is still in flight. This must be called on the JavaFX Application Thread.
+     */
+    public void submitBatch() {
+        final long batchGeneration = _batchGeneration.incrementAndGet();
+        final List< String > traceIds = _traceIds;
+        final int octaveDivider = _smoothedResponseService.getSmoothingOctaveDivider();
+
+        _forkJoinPool.execute( () -> {
+            final SmoothedResponse[] smoothedResponses = new SmoothedResponse[ traceIds.size() ];
+            // NOTE: Invoking the root task from within a pool worker runs it
+            // here and forks its subtasks into the same pool.
+            new SmoothingTask( traceIds,
+                               octaveDivider,
+                               batchGeneration,
+                               smoothedResponses,
+                               0,
+                               traceIds.size() ).invoke();
+            if ( !isCurrentBatch( batchGeneration ) ) {
+                return;
+            }
+
+            final Map< String, SmoothedResponse > smoothedResponseMap = new LinkedHashMap<>(
+                    2 * traceIds.size() );
+            for ( int i = 0; i < smoothedResponses.length; i++ ) {
+                if ( smoothedResponses[ i ] != null ) {
+                    smoothedResponseMap.put( traceIds.get( i ), smoothedResponses[ i ] );
+                }
+            }
+            final Map< String, SmoothedResponse > publishedResponses = Collections
+                    .unmodifiableMap( smoothedResponseMap );
+
+            // Check again on the FX thread, as a newer batch may have been
+            // submitted while this one was being handed over.
+            Platform.runLater( () -> {
+                if ( isCurrentBatch( batchGeneration ) ) {
+                    _smoothedResponses.set( publishedResponses );
+                }
+            } );
+        } );
+    }
+
+    private boolean isCurrentBatch( final long batchGeneration ) {
+        return _batchGeneration.get() == batchGeneration;
+    }
+
+    // Fork-join task that smooths a range of traces, splitting in half until
+    // the range is small, and stopping early once its batch is superseded.
+    private final class SmoothingTask extends RecursiveAction {
+        private static final long        serialVersionUID = 1L;
+
+        private final List< String >     _batchTraceIds;
+        private final int                _octaveDivider;
+        private final long               _batchGeneration;
+        private final SmoothedResponse[] _results;
+        private final int                _fromIndex;
+        private final int                _toIndex;
+
+        SmoothingTask( final List< String > batchTraceIds,
+                       final int octaveDivider,
+                       final long batchGeneration,
+                       final SmoothedResponse[] results,
+                       final int fromIndex,
+                       final int toIndex ) {
+            _batchTraceIds = batchTraceIds;
+            _octaveDivider = octaveDivider;
+            _batchGeneration = batchGeneration;
+            _results = results;
+            _fromIndex = fromIndex;
+            _toIndex = toIndex;
+        }
+
+        @Override
+        protected void compute() {
+            if ( !isCurrentBatch( _batchGeneration ) ) {
+                return;
+            }
+
+            if ( ( _toIndex - _fromIndex ) > SEQUENTIAL_THRESHOLD ) {
+                final int middleIndex = ( _fromIndex + _toIndex ) >>> 1;
+                invokeAll( new SmoothingTask( _batchTraceIds,
+                                              _octaveDivider,
+                                              _batchGeneration,
+                                              _results,
+                                              _fromIndex,
+                                              middleIndex ),
+                           new SmoothingTask( _batchTraceIds,
+                                              _octaveDivider,
+                                              _batchGeneration,
+                                              _results,
+                                              middleIndex,
+                                              _toIndex ) );
+                return;
+            }
+
+            for ( int i = _fromIndex; i < _toIndex; i++ ) {
+                if ( !isCurrentBatch( _batchGeneration ) ) {
+                    return;
+                }
+
+                // NOTE: Anything thrown here would otherwise vanish along with
+                // the rest of the batch, as nothing joins the task that runs it
+                // in the pool, so a trace that fails is reported and left out.
+                try {
+                    _results[ i ] = _smoothedResponseService
+                            .getSmoothedResponse( _batchTraceIds.get( i ), _octaveDivider );
+                }
+                catch ( final Exception ex ) {
+                    ex.printStackTrace();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.control;
+
+import javafx.collections.ObservableList;
+import javafx.scene.control.ComboBox;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This is a utility class for updating the items of selectors incrementally,
+ * applying only the minimal list edits needed and avoiding redundant value
+ * changes, so that list skins are not rebuilt when nothing has changed.
+ */
+public final class SelectorUpdateUtilities {
+
+    /**
+     * The default constructor is disabled, as this is a static utility class.
+     */
+    private SelectorUpdateUtilities() {}
+
+    /**
+     * Edits the target list so that it matches the source list, replacing only
+     * the span between the longest common prefix and suffix of the two lists.
+     *
+     * @param target
+     *            The observable list to edit in place
+     * @param source
+     *            The list of items that the target should end up matching
+     * @param <T>
+     *            The item type
+     * @return {@code true} if the target list was modified
+     */
+    public static < T > boolean applyMinimalEdits( final ObservableList< T > target,
+                                                   final List< ? extends T > source ) {
+        final int targetSize = target.size();
+        final int sourceSize = source.size();
+        final int minimumSize = Math.min( targetSize, sourceSize );
+
+        int prefixLength = 0;
+        while ( ( prefixLength < minimumSize )
+                && Objects.equals( target.get( prefixLength ), source.get( prefixLength ) ) ) {
+            prefixLength++;
+        }
+
+        if ( ( prefixLength == targetSize ) && ( prefixLength == sourceSize ) ) {
+            // The lists are identical, so there is nothing to do.
+            return false;
+        }
+
+        int suffixLength = 0;
+        while ( ( suffixLength < ( minimumSize - prefixLength ) )
+                && Objects.equals( target.get( targetSize - 1 - suffixLength ),
+                                   source.get( sourceSize - 1 - suffixLength ) ) ) {
+            suffixLength++;
+        }
+
+        if ( ( prefixLength == 0 ) && ( suffixLength == 0 ) ) {
+            // Nothing is shared, so a single wholesale replacement is cheaper
+            // than separate removal and insertion change events.
+            target.setAll( source );
+            return true;
+        }
+
+        final int targetChangeEnd = targetSize - suffixLength;
+        final int sourceChangeEnd = sourceSize - suffixLength;
+        if ( ( targetChangeEnd - prefixLength ) == ( sourceChangeEnd - prefixLength ) ) {
+            // Same-sized spans are replaced element by element, as that avoids
+            // shifting the common suffix back and forth.
+            for ( int i = prefixLength; i < targetChangeEnd; i++ ) {
+                target.set( i, source.get( i ) );
+            }
+            return true;
+        }
+
+        if ( targetChangeEnd > prefixLength ) {
+            target.remove( prefixLength, targetChangeEnd );
+        }
+        if ( sourceChangeEnd > prefixLength ) {
+            target.addAll( prefixLength, source.subList( prefixLength, sourceChangeEnd ) );
+        }
+
+        return true;
+    }
+
+    /**
+     * Updates the items of a Combo Box to match the given list with minimal
+     * edits, then selects either the current value (if preserving the selection
+     * and it is still present) or the default value, only changing the value if
+     * it differs from the current value.
+     *
+     * @param comboBox
+     *            The Combo Box whose items and value are to be updated
+     * @param items
+     *            The new list of items
+     * @param defaultValue
+     *            The value to select if the current value is not preserved
+     * @param preserveSelection
+     *            Flag for whether to keep the current value if still valid
+     * @param <T>
+     *            The item type
+     * @return {@code true} if either the items or the value changed
+     */
+    public static < T > boolean updateItems( final ComboBox< T > comboBox,
+                                             final List< ? extends T > items,
+                                             final T defaultValue,
+                                             final boolean preserveSelection ) {
+        final T currentValue = comboBox.getValue();
+        final T newValue = ( preserveSelection && ( currentValue != null )
+                && items.contains( currentValue ) )
+                    ? currentValue
+                    : defaultValue;
+
+        // Set a changed value before editing the list, so that removing the
+        // previously selected item does not generate an extra callback.
+        final boolean valueChanged = !Objects.equals( currentValue, newValue );
+        if ( valueChanged ) {
+            comboBox.setValue( newValue );
+        }
+
+        final boolean itemsChanged = applyMinimalEdits( comboBox.getItems(), items );
+
+        // Re-assert the value in case the list edits cleared the selection.
+        if ( itemsChanged && !Objects.equals( comboBox.getValue(), newValue ) ) {
+            comboBox.setValue( newValue );
+        }
+
+        return valueChanged || itemsChanged;
+    }
+}
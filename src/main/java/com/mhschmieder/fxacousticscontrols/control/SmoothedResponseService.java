@@ -0,0 +1,170 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.control;
+
+import com.mhschmieder.fxacousticscontrols.model.SmoothedResponse;
+import com.mhschmieder.fxacousticscontrols.model.SmoothedResponseCache;
+import com.mhschmieder.jacoustics.Smoothing;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import org.controlsfx.control.action.Action;
+
+/**
+ * A smoothing service that is driven by the Smoothing selector and/or choices,
+ * and memoizes smoothed responses per trace and smoothing octave divider, so
+ * that toggling back to an earlier Smoothing takes no work at all.
+ * <p>
+ * The smoothing itself is supplied by the application. The service may be
+ * queried from any thread, as the cache is thread-safe, but the bindings to
+ * the controls must be made on the JavaFX Application Thread.
+ */
+public final class SmoothedResponseService {
+
+    /**
+     * The application-supplied computation of a smoothed response.
+     */
+    @FunctionalInterface
+    public interface ResponseSmoother {
+        /**
+         * Smooths the raw frequency response of a trace.
+         * <p>
+         * The magnitudes of the returned response must be levels in dB, as
+         * that is what the plots and the vertical zoom fit against.
+         *
+         * @param traceId
+         *            The ID of the trace to smooth
+         * @param octaveDivider
+         *            The smoothing octave divider
+         * @return The smoothed response, with its magnitudes in dB
+         */
+        SmoothedResponse smooth( String traceId, int octaveDivider );
+    }
+
+    // The cache of smoothed responses, which may be shared across services.
+    private final SmoothedResponseCache  _smoothedResponseCache;
+
+    // The computation to use on a cache miss.
+    private final ResponseSmoother       _responseSmoother;
+
+    // The current smoothing octave divider, as driven by the controls;
+    // listeners should re-query their traces when it changes.
+    private final ReadOnlyIntegerWrapper _smoothingOctaveDivider;
+
+    public SmoothedResponseService( final SmoothedResponseCache smoothedResponseCache,
+                                    final ResponseSmoother responseSmoother ) {
+        _smoothedResponseCache = smoothedResponseCache;
+        _responseSmoother = responseSmoother;
+
+        _smoothingOctaveDivider = new ReadOnlyIntegerWrapper( this,
+                                                              "smoothingOctaveDivider", //$NON-NLS-1$
+                                                              Smoothing.defaultValue()
+                                                                      .toOctaveDivider() );
+    }
+
+    public SmoothedResponseCache getSmoothedResponseCache() {
+        return _smoothedResponseCache;
+    }
+
+    public ReadOnlyIntegerProperty smoothingOctaveDividerProperty() {
+        return _smoothingOctaveDivider.getReadOnlyProperty();
+    }
+
+    public int getSmoothingOctaveDivider() {
+        return _smoothingOctaveDivider.get();
+    }
+
+    // Follow the Smoothing selected in a Smoothing Selector.
+    public void bindToSmoothingSelector( final SmoothingSelector smoothingSelector ) {
+        smoothingSelector.valueProperty().addListener( ( observable, oldValue, newValue ) -> {
+            if ( newValue != null ) {
+                _smoothingOctaveDivider.set( smoothingSelector.getSmoothingOctaveDivider() );
+            }
+        } );
+
+        if ( smoothingSelector.getSmoothing() != null ) {
+            _smoothingOctaveDivider.set( smoothingSelector.getSmoothingOctaveDivider() );
+        }
+    }
+
+    // Follow the Smoothing selected in a group of Smoothing Choices.
+    public void bindToSmoothingChoices( final SmoothingChoices smoothingChoices ) {
+        for ( final Action smoothingChoice : smoothingChoices.getSmoothingChoiceGroup()
+                .getActions() ) {
+            smoothingChoice.selectedProperty().addListener( ( observable, oldValue, newValue ) -> {
+                if ( newValue ) {
+                    _smoothingOctaveDivider.set( smoothingChoices.getSmoothingOctaveDivider() );
+                }
+            } );
+        }
+
+        _smoothingOctaveDivider.set( smoothingChoices.getSmoothingOctaveDivider() );
+    }
+
+    // Get the smoothed response of a trace at the current Smoothing.
+    public SmoothedResponse getSmoothedResponse( final String traceId ) {
+        return getSmoothedResponse( traceId, getSmoothingOctaveDivider() );
+    }
+
+    /**
+     * Returns the smoothed response of a trace, from the cache if possible or
+     * else by smoothing it and caching the result.
+     * <p>
+     * NOTE: Two threads that miss on the same trace at the same time may both
+     * smooth it; this is harmless and avoids holding a lock while smoothing.
+     *
+     * @param traceId
+     *            The ID of the trace to smooth
+     * @param octaveDivider
+     *            The smoothing octave divider
+     * @return The smoothed response
+     */
+    public SmoothedResponse getSmoothedResponse( final String traceId,
+                                                 final int octaveDivider ) {
+        final SmoothedResponse cachedResponse = _smoothedResponseCache.get( traceId,
+                                                                            octaveDivider );
+        if ( cachedResponse != null ) {
+            return cachedResponse;
+        }
+
+        final SmoothedResponse smoothedResponse = _responseSmoother.smooth( traceId,
+                                                                            octaveDivider );
+        if ( smoothedResponse != null ) {
+            _smoothedResponseCache.put( traceId, octaveDivider, smoothedResponse );
+        }
+
+        return smoothedResponse;
+    }
+
+    // Drop all cached smoothed responses for a trace whose raw data changed.
+    public void invalidateTrace( final String traceId ) {
+        _smoothedResponseCache.invalidate( traceId );
+    }
+}
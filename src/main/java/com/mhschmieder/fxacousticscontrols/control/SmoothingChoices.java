@@ -48,10 +48,21 @@ import java.util.Collection;
  */
 public final class SmoothingChoices {
 
+    // Octave dividers for the choices that have no Smoothing value of their
+    // own, as the Smoothing enumeration only covers the legacy resolutions.
+    public static final int OCTAVE_DIVIDER_FORTY_EIGHTH  = 48;
+    public static final int OCTAVE_DIVIDER_TWENTY_FOURTH = 24;
+    public static final int OCTAVE_DIVIDER_TWELFTH       = 12;
+    public static final int OCTAVE_DIVIDER_ONE           = 1;
+
     // Declare all of the Smoothing choices.
     public XAction      _smoothingNarrowChoice;
+    public XAction      _smoothingFortyEighthOctaveChoice;
+    public XAction      _smoothingTwentyFourthOctaveChoice;
+    public XAction      _smoothingTwelfthOctaveChoice;
     public XAction      _smoothingSixthOctaveChoice;
     public XAction      _smoothingThirdOctaveChoice;
+    public XAction      _smoothingOneOctaveChoice;
 
     // Cache the associated choice group, for ease of overall enablement.
     public XActionGroup _smoothingChoiceGroup;
@@ -61,15 +72,27 @@ public final class SmoothingChoices {
     public SmoothingChoices( final ClientProperties clientProperties ) {
         _smoothingNarrowChoice = AcousticsLabeledActionFactory
                 .getSmoothingNarrowChoice( clientProperties );
+        _smoothingFortyEighthOctaveChoice = AcousticsLabeledActionFactory
+                .getSmoothingFortyEighthOctaveChoice( clientProperties );
+        _smoothingTwentyFourthOctaveChoice = AcousticsLabeledActionFactory
+                .getSmoothingTwentyFourthOctaveChoice( clientProperties );
+        _smoothingTwelfthOctaveChoice = AcousticsLabeledActionFactory
+                .getSmoothingTwelfthOctaveChoice( clientProperties );
         _smoothingSixthOctaveChoice = AcousticsLabeledActionFactory
                 .getSmoothingSixthOctaveChoice( clientProperties );
         _smoothingThirdOctaveChoice = AcousticsLabeledActionFactory
                 .getSmoothingThirdOctaveChoice( clientProperties );
+        _smoothingOneOctaveChoice = AcousticsLabeledActionFactory
+                .getSmoothingOneOctaveChoice( clientProperties );
 
         final Collection< Action > smoothingChoiceCollection = Arrays
                 .asList( _smoothingNarrowChoice,
+                         _smoothingFortyEighthOctaveChoice,
+                         _smoothingTwentyFourthOctaveChoice,
+                         _smoothingTwelfthOctaveChoice,
                          _smoothingSixthOctaveChoice,
-                         _smoothingThirdOctaveChoice );
+                         _smoothingThirdOctaveChoice,
+                         _smoothingOneOctaveChoice );
 
         _smoothingChoiceGroup = ActionFactory
                 .makeChoiceGroup( clientProperties,
@@ -80,14 +103,30 @@ public final class SmoothingChoices {
                                   true );
     }
 
+    /**
+     * Returns the selected Smoothing, which is never null.
+     * <p>
+     * The 1/48, 1/24, 1/12 and 1/1 octave choices have no Smoothing value of
+     * their own, so the nearest legacy Smoothing is returned for them: 1/6
+     * octave for the narrower choices, and 1/3 octave for the 1/1 choice. This
+     * keeps existing callers working, but setting the result back selects the
+     * legacy choice, so new callers should use
+     * {@link #getSmoothingOctaveDivider()}, which is exact for every choice.
+     *
+     * @return The selected Smoothing, or the nearest legacy Smoothing
+     */
     public Smoothing getSmoothing() {
         if ( _smoothingNarrowChoice.isSelected() ) {
             return Smoothing.NARROW_BAND;
         }
-        else if ( _smoothingSixthOctaveChoice.isSelected() ) {
+        else if ( _smoothingFortyEighthOctaveChoice.isSelected()
+                || _smoothingTwentyFourthOctaveChoice.isSelected()
+                || _smoothingTwelfthOctaveChoice.isSelected()
+                || _smoothingSixthOctaveChoice.isSelected() ) {
             return Smoothing.SIXTH_OCTAVE_BAND;
         }
-        else if ( _smoothingThirdOctaveChoice.isSelected() ) {
+        else if ( _smoothingThirdOctaveChoice.isSelected()
+                || _smoothingOneOctaveChoice.isSelected() ) {
             return Smoothing.THIRD_OCTAVE_BAND;
         }
         else {
@@ -100,6 +139,19 @@ public final class SmoothingChoices {
     }
 
     public int getSmoothingOctaveDivider() {
+        if ( _smoothingFortyEighthOctaveChoice.isSelected() ) {
+            return OCTAVE_DIVIDER_FORTY_EIGHTH;
+        }
+        else if ( _smoothingTwentyFourthOctaveChoice.isSelected() ) {
+            return OCTAVE_DIVIDER_TWENTY_FOURTH;
+        }
+        else if ( _smoothingTwelfthOctaveChoice.isSelected() ) {
+            return OCTAVE_DIVIDER_TWELFTH;
+        }
+        else if ( _smoothingOneOctaveChoice.isSelected() ) {
+            return OCTAVE_DIVIDER_ONE;
+        }
+
         final Smoothing smoothing = getSmoothing();
         final int smoothingOctaveDivider = smoothing.toOctaveDivider();
         return smoothingOctaveDivider;
@@ -128,7 +180,25 @@ public final class SmoothingChoices {
     }
 
     public void setSmoothingOctaveDivider( final int octaveDivider ) {
-        // Sync up the radio button menu items with the current Smoothing value.
+        // Sync up the radio button menu items with the current Smoothing value,
+        // starting with the dividers that have no Smoothing value of their own.
+        switch ( octaveDivider ) {
+        case OCTAVE_DIVIDER_FORTY_EIGHTH:
+            _smoothingFortyEighthOctaveChoice.setSelected( true );
+            return;
+        case OCTAVE_DIVIDER_TWENTY_FOURTH:
+            _smoothingTwentyFourthOctaveChoice.setSelected( true );
+            return;
+        case OCTAVE_DIVIDER_TWELFTH:
+            _smoothingTwelfthOctaveChoice.setSelected( true );
+            return;
+        case OCTAVE_DIVIDER_ONE:
+            _smoothingOneOctaveChoice.setSelected( true );
+            return;
+        default:
+            break;
+        }
+
         final Smoothing smoothing = Smoothing.fromOctaveDivider( octaveDivider );
         setSmoothing( smoothing );
     }
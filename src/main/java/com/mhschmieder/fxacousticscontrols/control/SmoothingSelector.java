@@ -36,6 +36,11 @@ import com.mhschmieder.jcommons.util.ClientProperties;
 
 /**
  * This is a selector for different Smoothing resolutions.
+ * <p>
+ * NOTE: This selector stays limited to the legacy Smoothing values, as its
+ * items are the Smoothing enum values themselves, and the enum has no values
+ * for the 1/48, 1/24, 1/12 and 1/1 octave resolutions. Use
+ * {@link SmoothingChoices} where those resolutions are needed.
  */
 public final class SmoothingSelector extends XComboBox< Smoothing > {
 
@@ -0,0 +1,249 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.control;
+
+import com.mhschmieder.fxacousticscontrols.control.CoalescedValueStream.CoalescingMode;
+import javafx.animation.PauseTransition;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ChangeListener;
+import javafx.event.EventHandler;
+import javafx.scene.control.Spinner;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
+import javafx.util.Duration;
+
+import java.util.Objects;
+
+/**
+ * A two-tier view of a spinner's value, for spinners such as SPL Range and
+ * Dithering Amount whose every change would otherwise trigger a full recolor
+ * or re-dither while an arrow key or button is held down.
+ * <p>
+ * The preview value follows the spinner at a throttled rate, for cheap
+ * feedback while the user is still adjusting. The committed value only
+ * changes once the user is done: on release of a step key (the arrow and page
+ * keys) or Enter, on mouse release, on focus loss, or once the spinner has
+ * been idle for the commit delay. Expensive consumers should therefore listen
+ * to the committed value only.
+ * <p>
+ * A key release only commits if the same key isn't pressed again right away,
+ * as some platforms (such as X11) send auto-repeat as pairs of key presses
+ * and releases rather than as repeated presses.
+ * <p>
+ * This class must only be used from the JavaFX Application Thread.
+ *
+ * @param <T>
+ *            The type of value held by the spinner
+ */
+public final class SpinnerValueThrottle< T > {
+
+    // Default preview interval, which is about three repeat ticks.
+    public static final Duration PREVIEW_INTERVAL_DEFAULT = Duration.millis( 100.0d );
+
+    // Default idle delay before an unreleased change is committed anyway.
+    public static final Duration COMMIT_DELAY_DEFAULT     = Duration.millis( 400.0d );
+
+    // How long a key release waits for an auto-repeat press before it
+    // commits, which is well below any auto-repeat interval.
+    public static final Duration KEY_RELEASE_DEBOUNCE     = Duration.millis( 50.0d );
+
+    // The spinner whose value is being throttled.
+    private final Spinner< T >                   _spinner;
+
+    // The throttled stream of intermediate values.
+    private final CoalescedValueStream< T >      _previewStream;
+
+    // The latest committed value.
+    private final ReadOnlyObjectWrapper< T >     _committedValue;
+
+    // The idle timer that commits changes made without a release event, such
+    // as typed-in values or programmatic changes.
+    private final PauseTransition                _commitTimer;
+
+    // The timer that commits after a key release, unless the key is pressed
+    // again first.
+    private final PauseTransition                _keyReleaseTimer;
+
+    // Our listeners and event filters on the spinner, for disposal.
+    private final ChangeListener< T >            _valueListener;
+    private final ChangeListener< Boolean >      _focusListener;
+    private final EventHandler< KeyEvent >       _keyPressedFilter;
+    private final EventHandler< KeyEvent >       _keyReleasedFilter;
+    private final EventHandler< MouseEvent >     _mousePressedFilter;
+    private final EventHandler< MouseEvent >     _mouseReleasedFilter;
+
+    // Flag for whether a key or mouse button is currently held on the
+    // spinner, during which the idle timer must not commit.
+    private boolean                              _adjusting;
+
+    public SpinnerValueThrottle( final Spinner< T > spinner ) {
+        this( spinner, PREVIEW_INTERVAL_DEFAULT, COMMIT_DELAY_DEFAULT );
+    }
+
+    public SpinnerValueThrottle( final Spinner< T > spinner,
+                                 final Duration previewInterval,
+                                 final Duration commitDelay ) {
+        _spinner = spinner;
+        _previewStream = new CoalescedValueStream<>( spinner.valueProperty(),
+                                                     CoalescingMode.THROTTLE,
+                                                     previewInterval );
+        _committedValue = new ReadOnlyObjectWrapper<>( this,
+                                                       "committedValue", //$NON-NLS-1$
+                                                       spinner.getValue() );
+        _adjusting = false;
+
+        _commitTimer = new PauseTransition( ( commitDelay != null )
+            ? commitDelay
+            : COMMIT_DELAY_DEFAULT );
+        _commitTimer.setOnFinished( evt -> {
+            if ( !_adjusting ) {
+                commit();
+            }
+        } );
+
+        _keyReleaseTimer = new PauseTransition( KEY_RELEASE_DEBOUNCE );
+        _keyReleaseTimer.setOnFinished( evt -> {
+            _adjusting = false;
+            commit();
+        } );
+
+        _valueListener = ( observable, oldValue, newValue ) -> _commitTimer.playFromStart();
+        _spinner.valueProperty().addListener( _valueListener );
+
+        // NOTE: Focus loss covers tabbing away after typing in a new value,
+        // where the spinner itself only commits the editor text.
+        _focusListener = ( observable, oldValue, newValue ) -> {
+            if ( !newValue ) {
+                _keyReleaseTimer.stop();
+                _adjusting = false;
+                commit();
+            }
+        };
+        _spinner.focusedProperty().addListener( _focusListener );
+
+        // NOTE: Filters are used rather than handlers, as the spinner skin
+        // consumes the arrow key and button events it acts on. Other keys,
+        // such as digits typed into the editor, are left to the idle timer.
+        _keyPressedFilter = evt -> {
+            if ( isCommitKey( evt.getCode() ) ) {
+                _keyReleaseTimer.stop();
+                _adjusting = true;
+            }
+        };
+        _keyReleasedFilter = evt -> {
+            if ( isCommitKey( evt.getCode() ) ) {
+                _keyReleaseTimer.playFromStart();
+            }
+        };
+        _mousePressedFilter = evt -> _adjusting = true;
+        _mouseReleasedFilter = evt -> {
+            _adjusting = false;
+            commit();
+        };
+        _spinner.addEventFilter( KeyEvent.KEY_PRESSED, _keyPressedFilter );
+        _spinner.addEventFilter( KeyEvent.KEY_RELEASED, _keyReleasedFilter );
+        _spinner.addEventFilter( MouseEvent.MOUSE_PRESSED, _mousePressedFilter );
+        _spinner.addEventFilter( MouseEvent.MOUSE_RELEASED, _mouseReleasedFilter );
+    }
+
+    public Spinner< T > getSpinner() {
+        return _spinner;
+    }
+
+    public ReadOnlyObjectProperty< T > previewValueProperty() {
+        return _previewStream.valueProperty();
+    }
+
+    // Get the latest throttled intermediate value.
+    public T getPreviewValue() {
+        return _previewStream.getValue();
+    }
+
+    public ReadOnlyObjectProperty< T > committedValueProperty() {
+        return _committedValue.getReadOnlyProperty();
+    }
+
+    // Get the latest committed value.
+    public T getCommittedValue() {
+        return _committedValue.get();
+    }
+
+    public boolean isAdjusting() {
+        return _adjusting;
+    }
+
+    /**
+     * Commits the current spinner value right away, such as before starting a
+     * prediction, and brings the preview value up to date as well.
+     * <p>
+     * Nothing is fired if the value is unchanged since the last commit, so
+     * release events after a no-op click cost nothing downstream.
+     */
+    public void commit() {
+        _commitTimer.stop();
+        _keyReleaseTimer.stop();
+        _previewStream.flush();
+
+        final T value = _spinner.getValue();
+        if ( !Objects.equals( value, _committedValue.get() ) ) {
+            _committedValue.set( value );
+        }
+    }
+
+    // Stop listening to the spinner and drop any uncommitted change.
+    public void dispose() {
+        _commitTimer.stop();
+        _keyReleaseTimer.stop();
+        _previewStream.dispose();
+        _spinner.valueProperty().removeListener( _valueListener );
+        _spinner.focusedProperty().removeListener( _focusListener );
+        _spinner.removeEventFilter( KeyEvent.KEY_PRESSED, _keyPressedFilter );
+        _spinner.removeEventFilter( KeyEvent.KEY_RELEASED, _keyReleasedFilter );
+        _spinner.removeEventFilter( MouseEvent.MOUSE_PRESSED, _mousePressedFilter );
+        _spinner.removeEventFilter( MouseEvent.MOUSE_RELEASED, _mouseReleasedFilter );
+    }
+
+    // Check whether a key steps or commits the spinner value.
+    private static boolean isCommitKey( final KeyCode keyCode ) {
+        switch ( keyCode ) {
+        case UP:
+        case DOWN:
+        case PAGE_UP:
+        case PAGE_DOWN:
+        case ENTER:
+            return true;
+        default:
+            return false;
+        }
+    }
+}
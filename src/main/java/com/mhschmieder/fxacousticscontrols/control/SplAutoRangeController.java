@@ -0,0 +1,188 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.control;
+
+import com.mhschmieder.fxacousticscontrols.model.SplHistogram;
+import com.mhschmieder.fxacousticscontrols.model.SplPaletteTables;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Spinner;
+import javafx.scene.control.SpinnerValueFactory;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An incremental SPL auto-range controller, which keeps a streaming histogram
+ * of prediction tiles as they arrive and, while the Auto-Range SPL check box
+ * is selected, keeps the SPL Range spinner and the top of the SPL scale in
+ * step with it.
+ * <p>
+ * Ranging is percentile based, so that a few outliers (such as cells right at
+ * a source) don't squash the color scale for the rest of the venue. Tiles may
+ * be added from any thread; the controls are updated at most once per queued
+ * task on the JavaFX Application Thread.
+ */
+public final class SplAutoRangeController {
+
+    // Default percentiles, which ignore the quietest and loudest outliers.
+    public static final double LOWER_FRACTION_DEFAULT = 0.02d;
+    public static final double UPPER_FRACTION_DEFAULT = 0.995d;
+
+    // The streaming histogram of the current prediction.
+    private final SplHistogram            _splHistogram;
+
+    // The controls that drive, and are driven by, auto-ranging.
+    private final CheckBox                _autoRangeSplCheckBox;
+    private final Spinner< Integer >      _splRangeSpinner;
+
+    // The percentiles that bound the SPL range.
+    private double                        _lowerFraction;
+    private double                        _upperFraction;
+
+    // The SPL value at the top of the auto-ranged scale, for the palette.
+    private final ReadOnlyDoubleWrapper   _splTopDb;
+
+    // Flag for whether a control update is already queued on the FX thread.
+    private final AtomicBoolean           _updateScheduled;
+
+    public SplAutoRangeController( final CheckBox autoRangeSplCheckBox,
+                                   final Spinner< Integer > splRangeSpinner ) {
+        _splHistogram = new SplHistogram();
+        _autoRangeSplCheckBox = autoRangeSplCheckBox;
+        _splRangeSpinner = splRangeSpinner;
+        _lowerFraction = LOWER_FRACTION_DEFAULT;
+        _upperFraction = UPPER_FRACTION_DEFAULT;
+        _splTopDb = new ReadOnlyDoubleWrapper( this, "splTopDb", Double.NaN ); //$NON-NLS-1$
+        _updateScheduled = new AtomicBoolean( false );
+
+        // Apply the current auto-range as soon as auto-ranging is turned on.
+        _autoRangeSplCheckBox.selectedProperty().addListener( ( observable,
+                                                                oldValue,
+                                                                newValue ) -> {
+            if ( newValue ) {
+                updateControls();
+            }
+        } );
+    }
+
+    public SplHistogram getSplHistogram() {
+        return _splHistogram;
+    }
+
+    public ReadOnlyDoubleProperty splTopDbProperty() {
+        return _splTopDb.getReadOnlyProperty();
+    }
+
+    // Get the SPL value at the top of the auto-ranged scale, or NaN if unknown.
+    public double getSplTopDb() {
+        return _splTopDb.get();
+    }
+
+    // Set the percentiles that bound the SPL range; zero and one use the exact
+    // minimum and maximum instead.
+    public void setPercentiles( final double lowerFraction, final double upperFraction ) {
+        _lowerFraction = lowerFraction;
+        _upperFraction = upperFraction;
+        scheduleUpdate();
+    }
+
+    // Start over, such as at the start of a new prediction.
+    public void reset() {
+        _splHistogram.reset();
+    }
+
+    /**
+     * Adds a tile of predicted SPL values, and schedules an update of the
+     * controls. This may be called from any thread.
+     *
+     * @param splValues
+     *            The SPL values, in dB
+     * @param splOffset
+     *            The index of the tile's first SPL value
+     * @param splScanlineStride
+     *            The distance between rows of the tile in the SPL values
+     * @param width
+     *            The tile width, in cells
+     * @param height
+     *            The tile height, in cells
+     */
+    public void addTile( final double[] splValues,
+                         final int splOffset,
+                         final int splScanlineStride,
+                         final int width,
+                         final int height ) {
+        _splHistogram.addTile( splValues, splOffset, splScanlineStride, width, height );
+        scheduleUpdate();
+    }
+
+    private void scheduleUpdate() {
+        if ( _updateScheduled.compareAndSet( false, true ) ) {
+            Platform.runLater( () -> {
+                _updateScheduled.set( false );
+                updateControls();
+            } );
+        }
+    }
+
+    private void updateControls() {
+        if ( !_autoRangeSplCheckBox.isSelected() || ( _splHistogram.getCount() == 0L ) ) {
+            return;
+        }
+
+        // Honor the spinner's own limits where it has them, so that we never
+        // set a value that it would reject.
+        int splRangeDbMinimum = SplPaletteTables.SPL_RANGE_DB_MINIMUM;
+        int splRangeDbMaximum = SplPaletteTables.SPL_RANGE_DB_MAXIMUM;
+        int splRangeDbIncrement = SplPaletteTables.SPL_RANGE_DB_INCREMENT;
+        final SpinnerValueFactory< Integer > valueFactory = _splRangeSpinner.getValueFactory();
+        if ( valueFactory instanceof SpinnerValueFactory.IntegerSpinnerValueFactory ) {
+            final SpinnerValueFactory.IntegerSpinnerValueFactory integerValueFactory =
+                    ( SpinnerValueFactory.IntegerSpinnerValueFactory ) valueFactory;
+            splRangeDbMinimum = integerValueFactory.getMin();
+            splRangeDbMaximum = integerValueFactory.getMax();
+            splRangeDbIncrement = integerValueFactory.getAmountToStepBy();
+        }
+
+        final int splRangeDb = _splHistogram.getSplRangeDb( _lowerFraction,
+                                                            _upperFraction,
+                                                            splRangeDbMinimum,
+                                                            splRangeDbMaximum,
+                                                            Math.max( 1, splRangeDbIncrement ) );
+        if ( ( valueFactory != null ) && ( splRangeDb > 0 )
+                && !Integer.valueOf( splRangeDb ).equals( valueFactory.getValue() ) ) {
+            valueFactory.setValue( splRangeDb );
+        }
+
+        _splTopDb.set( _splHistogram.getPercentileDb( _upperFraction ) );
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.control;
+
+import com.mhschmieder.fxacousticscontrols.model.QuantizedSplGrid;
+import com.mhschmieder.fxacousticscontrols.model.SplPaletteTable;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A view of an SPL prediction grid as an image, with one pixel per grid cell.
+ * <p>
+ * Worker threads write palette-mapped pixels straight into a shared primitive
+ * ARGB buffer and mark what they wrote as dirty. On the JavaFX Application
+ * Thread, only the union of the dirty regions is uploaded to the image, in a
+ * single bulk transfer per pulse, and then reported as the redraw bounds.
+ * <p>
+ * NOTE: JavaFX 8 has no {@code PixelBuffer}, so the image cannot share the
+ * buffer directly. Writing into a primitive buffer and uploading only the
+ * dirty rectangle keeps this to one copy of the changed pixels per frame.
+ */
+public final class SplMapView extends ImageView {
+
+    // The grid dimensions, in cells (and thus pixels).
+    private final int                                _gridWidth;
+    private final int                                _gridHeight;
+
+    // The shared ARGB pixel buffer, in row-major order with one row per grid
+    // row, which worker threads write into.
+    private final int[]                              _pixels;
+
+    // The image that the pixels are uploaded to.
+    private final WritableImage                      _image;
+
+    // The union of the regions written since the last upload, guarded by the
+    // lock; the maximum bounds are exclusive.
+    private final Object                             _dirtyLock;
+    private int                                      _dirtyMinX;
+    private int                                      _dirtyMinY;
+    private int                                      _dirtyMaxX;
+    private int                                      _dirtyMaxY;
+
+    // Flag for whether an upload is already queued on the FX thread.
+    private final AtomicBoolean                      _uploadScheduled;
+
+    // The bounds of the most recent upload, for redraw reporting.
+    private final ReadOnlyObjectWrapper< Rectangle2D > _redrawBounds;
+
+    public SplMapView( final int gridWidth, final int gridHeight ) {
+        // Always call the superclass constructor first!
+        super();
+
+        _gridWidth = gridWidth;
+        _gridHeight = gridHeight;
+        _pixels = new int[ gridWidth * gridHeight ];
+        _image = new WritableImage( gridWidth, gridHeight );
+
+        _dirtyLock = new Object();
+        resetDirtyRegion();
+        _uploadScheduled = new AtomicBoolean( false );
+        _redrawBounds = new ReadOnlyObjectWrapper<>( this, "redrawBounds", null ); //$NON-NLS-1$
+
+        setImage( _image );
+        setSmooth( false );
+    }
+
+    public int getGridWidth() {
+        return _gridWidth;
+    }
+
+    public int getGridHeight() {
+        return _gridHeight;
+    }
+
+    // Get the shared ARGB pixel buffer, for clients that write pixels
+    // themselves; they must call markDirty() for the region they wrote.
+    public int[] getPixelBuffer() {
+        return _pixels;
+    }
+
+    public ReadOnlyObjectProperty< Rectangle2D > redrawBoundsProperty() {
+        return _redrawBounds.getReadOnlyProperty();
+    }
+
+    /**
+     * Maps a tile of SPL values to the pixel buffer via a palette table, and
+     * marks the tile as dirty. This may be called from any thread, as long as
+     * concurrent callers write to different tiles.
+     *
+     * @param splValues
+     *            The SPL values, in dB
+     * @param splOffset
+     *            The index of the tile's first SPL value
+     * @param splScanlineStride
+     *            The distance between rows of the tile in the SPL values
+     * @param x
+     *            The leftmost grid column of the tile
+     * @param y
+     *            The topmost grid row of the tile
+     * @param width
+     *            The tile width, in cells
+     * @param height
+     *            The tile height, in cells
+     * @param splTopDb
+     *            The SPL value at the top of the palette, in dB
+     * @param splPaletteTable
+     *            The palette table to map SPL values with
+     */
+    public void writeSplTile( final double[] splValues,
+                              final int splOffset,
+                              final int splScanlineStride,
+                              final int x,
+                              final int y,
+                              final int width,
+                              final int height,
+                              final double splTopDb,
+                              final SplPaletteTable splPaletteTable ) {
+        for ( int row = 0; row < height; row++ ) {
+            splPaletteTable.toArgb( splValues,
+                                    splOffset + ( row * splScanlineStride ),
+                                    width,
+                                    splTopDb,
+                                    _pixels,
+                                    ( ( y + row ) * _gridWidth ) + x );
+        }
+
+        markDirty( x, y, width, height );
+    }
+
+    /**
+     * Recolors the whole grid from its quantized levels, such as after a
+     * change of SPL Palette Resolution, without touching the raw SPL values.
+     *
+     * @param quantizedSplGrid
+     *            The quantized SPL grid, which must match this view's size
+     * @param splPaletteTable
+     *            The palette table for the grid's SPL range
+     */
+    public void recolor( final QuantizedSplGrid quantizedSplGrid,
+                         final SplPaletteTable splPaletteTable ) {
+        quantizedSplGrid.toArgb( splPaletteTable, 0, _pixels.length, _pixels, 0 );
+        markDirty( 0, 0, _gridWidth, _gridHeight );
+    }
+
+    // Fill the whole grid with one opaque color, such as before a new
+    // prediction.
+    public void clear( final int argb ) {
+        Arrays.fill( _pixels, argb );
+        markDirty( 0, 0, _gridWidth, _gridHeight );
+    }
+
+    /**
+     * Marks a region of the pixel buffer as changed, and makes sure an upload
+     * is queued on the JavaFX Application Thread. This may be called from any
+     * thread, after the pixels have been written.
+     *
+     * @param x
+     *            The leftmost grid column of the region
+     * @param y
+     *            The topmost grid row of the region
+     * @param width
+     *            The region width, in cells
+     * @param height
+     *            The region height, in cells
+     */
+    public void markDirty( final int x, final int y, final int width, final int height ) {
+        final int minX = Math.max( 0, x );
+        final int minY = Math.max( 0, y );
+        final int maxX = Math.min( _gridWidth, x + width );
+        final int maxY = Math.min( _gridHeight, y + height );
+        if ( ( minX >= maxX ) || ( minY >= maxY ) ) {
+            return;
+        }
+
+        // NOTE: Taking the lock also publishes the pixel writes that preceded
+        // this call to the FX thread, which takes the same lock to upload.
+        synchronized ( _dirtyLock ) {
+            _dirtyMinX = Math.min( _dirtyMinX, minX );
+            _dirtyMinY = Math.min( _dirtyMinY, minY );
+            _dirtyMaxX = Math.max( _dirtyMaxX, maxX );
+            _dirtyMaxY = Math.max( _dirtyMaxY, maxY );
+        }
+
+        if ( _uploadScheduled.compareAndSet( false, true ) ) {
+            Platform.runLater( this::uploadDirtyRegion );
+        }
+    }
+
+    private void resetDirtyRegion() {
+        _dirtyMinX = Integer.MAX_VALUE;
+        _dirtyMinY = Integer.MAX_VALUE;
+        _dirtyMaxX = Integer.MIN_VALUE;
+        _dirtyMaxY = Integer.MIN_VALUE;
+    }
+
+    private void uploadDirtyRegion() {
+        _uploadScheduled.set( false );
+
+        final int minX;
+        final int minY;
+        final int maxX;
+        final int maxY;
+        synchronized ( _dirtyLock ) {
+            minX = _dirtyMinX;
+            minY = _dirtyMinY;
+            maxX = _dirtyMaxX;
+            maxY = _dirtyMaxY;
+            resetDirtyRegion();
+        }
+        if ( ( minX >= maxX ) || ( minY >= maxY ) ) {
+            return;
+        }
+
+        // Upload just the dirty rectangle, straight from the shared buffer.
+        // NOTE: The palette colors are opaque, so they are already in the
+        // premultiplied format, which is the fastest one to upload.
+        final int width = maxX - minX;
+        final int height = maxY - minY;
+        _image.getPixelWriter().setPixels( minX,
+                                           minY,
+                                           width,
+                                           height,
+                                           PixelFormat.getIntArgbPreInstance(),
+                                           _pixels,
+                                           ( minY * _gridWidth ) + minX,
+                                           _gridWidth );
+
+        _redrawBounds.set( new Rectangle2D( minX, minY, width, height ) );
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.control;
+
+import com.mhschmieder.fxacousticscontrols.action.FrequencyAmplitudeVerticalZoomChoices;
+import com.mhschmieder.fxacousticscontrols.action.FrequencyRangeHorizontalZoomChoices;
+import com.mhschmieder.fxacousticscontrols.model.FrequencyBinIndex;
+import com.mhschmieder.fxacousticscontrols.model.LevelExtentTracker;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.beans.property.SimpleIntegerProperty;
+import org.apache.commons.math3.util.FastMath;
+import org.controlsfx.control.action.Action;
+
+/**
+ * An automatic vertical zoom for frequency response plots, which drives the
+ * Frequency Amplitude Vertical Zoom choices while their Auto-Fit check is
+ * selected.
+ * <p>
+ * The level extents of the visible band of all traces are kept up to date
+ * incrementally as traces are added or removed, so each fit is cheap. Both
+ * the Vertical Grid Spacing and the reference level (the middle of the
+ * scale) are held steady until the data no longer fits or would fit a finer
+ * scale with room to spare, so that the plot does not jitter from one
+ * measurement to the next. Selecting a Vertical Zoom choice by hand turns
+ * Auto-Fit off.
+ * <p>
+ * This class must only be used from the JavaFX Application Thread.
+ */
+public final class VerticalZoomAutoFit {
+
+    // The Vertical Zoom choices that are driven while Auto-Fit is selected.
+    private final FrequencyAmplitudeVerticalZoomChoices _frequencyAmplitudeVerticalZoomChoices;
+
+    // The running level extents of all traces, per Horizontal Zoom band.
+    private LevelExtentTracker                          _levelExtentTracker;
+
+    // The visible band, and the number of vertical grid divisions.
+    private final IntegerProperty                       _frequencyRangeHorizontalZoomIndex;
+    private final IntegerProperty                       _verticalDivisions;
+
+    // The fitted level at the middle of the vertical scale, in dB.
+    private final ReadOnlyDoubleWrapper                 _referenceDb;
+
+    // Flag for whether we are changing the Vertical Zoom choices ourselves,
+    // so that this isn't mistaken for a manual selection.
+    private boolean                                     _fitting;
+
+    public VerticalZoomAutoFit( final FrequencyAmplitudeVerticalZoomChoices frequencyAmplitudeVerticalZoomChoices ) {
+        _frequencyAmplitudeVerticalZoomChoices = frequencyAmplitudeVerticalZoomChoices;
+        _levelExtentTracker = null;
+        _fitting = false;
+
+        _frequencyRangeHorizontalZoomIndex = new SimpleIntegerProperty(
+                this,
+                "frequencyRangeHorizontalZoomIndex", //$NON-NLS-1$
+                FrequencyRangeHorizontalZoomChoices.ZOOM_FULL_RANGE );
+        _verticalDivisions = new SimpleIntegerProperty( this,
+                                                        "verticalDivisions", //$NON-NLS-1$
+                                                        FrequencyResponsePlot.VERTICAL_DIVISIONS_DEFAULT );
+        _referenceDb = new ReadOnlyDoubleWrapper( this, "referenceDb", 0.0d ); //$NON-NLS-1$
+
+        _frequencyRangeHorizontalZoomIndex.addListener( ( observable,
+                                                          oldValue,
+                                                          newValue ) -> fit() );
+        _verticalDivisions.addListener( ( observable, oldValue, newValue ) -> fit() );
+
+        _frequencyAmplitudeVerticalZoomChoices._autoFitCheck.selectedProperty()
+                .addListener( ( observable, oldValue, newValue ) -> {
+                    if ( newValue ) {
+                        fit();
+                    }
+                } );
+
+        for ( final Action zoomChoice : _frequencyAmplitudeVerticalZoomChoices
+                .getFrequencyAmplitudeVerticalZoomChoiceGroup().getActions() ) {
+            zoomChoice.selectedProperty().addListener( ( observable, oldValue, newValue ) -> {
+                if ( newValue && !_fitting ) {
+                    _frequencyAmplitudeVerticalZoomChoices.setAutoFit( false );
+                }
+            } );
+        }
+    }
+
+    public IntegerProperty frequencyRangeHorizontalZoomIndexProperty() {
+        return _frequencyRangeHorizontalZoomIndex;
+    }
+
+    public IntegerProperty verticalDivisionsProperty() {
+        return _verticalDivisions;
+    }
+
+    public ReadOnlyDoubleProperty referenceDbProperty() {
+        return _referenceDb.getReadOnlyProperty();
+    }
+
+    public double getReferenceDb() {
+        return _referenceDb.get();
+    }
+
+    /**
+     * Follows the visible band and vertical divisions of a plot, and keeps its
+     * reference level fitted to the data.
+     *
+     * @param frequencyResponsePlot
+     *            The plot to fit
+     */
+    public void bindToPlot( final FrequencyResponsePlot frequencyResponsePlot ) {
+        frequencyResponsePlot.frequencyRangeHorizontalZoomIndexProperty()
+                .addListener( ( observable, oldValue, newValue ) -> _frequencyRangeHorizontalZoomIndex
+                        .set( newValue.intValue() ) );
+        frequencyResponsePlot.verticalDivisionsProperty()
+                .addListener( ( observable, oldValue, newValue ) -> _verticalDivisions
+                        .set( newValue.intValue() ) );
+        _referenceDb.addListener( ( observable, oldValue, newValue ) -> frequencyResponsePlot
+                .referenceDbProperty().set( newValue.doubleValue() ) );
+
+        _frequencyRangeHorizontalZoomIndex
+                .set( frequencyResponsePlot.frequencyRangeHorizontalZoomIndexProperty().get() );
+        _verticalDivisions.set( frequencyResponsePlot.verticalDivisionsProperty().get() );
+        frequencyResponsePlot.referenceDbProperty().set( _referenceDb.get() );
+    }
+
+    // Set the response layout shared by all of the traces, which drops any
+    // traces that were tracked against an earlier layout.
+    public void setFrequencyBinIndex( final FrequencyBinIndex frequencyBinIndex ) {
+        _levelExtentTracker = ( frequencyBinIndex != null )
+            ? new LevelExtentTracker( frequencyBinIndex )
+            : null;
+    }
+
+    // Add a trace, or replace its levels, and refit.
+    public void putTrace( final String traceId, final double[] levelsDb ) {
+        if ( _levelExtentTracker != null ) {
+            _levelExtentTracker.putTrace( traceId, levelsDb );
+            fit();
+        }
+    }
+
+    // Remove a trace, and refit.
+    public void removeTrace( final String traceId ) {
+        if ( ( _levelExtentTracker != null ) && _levelExtentTracker.removeTrace( traceId ) ) {
+            fit();
+        }
+    }
+
+    // Remove all traces, and refit.
+    // NOTE: With no traces, the extents are NaN, so fit() keeps the current
+    // scale rather than jumping to a default between one set of traces and
+    // the next; the call is kept so that all trace changes refit the same way.
+    public void clearTraces() {
+        if ( _levelExtentTracker != null ) {
+            _levelExtentTracker.clear();
+            fit();
+        }
+    }
+
+    /**
+     * Fits the Vertical Zoom to the current data, if Auto-Fit is selected.
+     * This never rescans the data, as the extents are kept current, and costs
+     * O(log(traces)) to look up the extents of the visible band.
+     */
+    public void fit() {
+        if ( ( _levelExtentTracker == null ) || !_frequencyAmplitudeVerticalZoomChoices.isAutoFit() ) {
+            return;
+        }
+
+        final int zoomIndex = _frequencyRangeHorizontalZoomIndex.get();
+        if ( ( zoomIndex < 0 ) || ( zoomIndex >= _levelExtentTracker.getFrequencyBinIndex()
+                .getZoomCount() ) ) {
+            return;
+        }
+
+        final double minimumDb = _levelExtentTracker.getMinimumDb( zoomIndex );
+        final double maximumDb = _levelExtentTracker.getMaximumDb( zoomIndex );
+        if ( Double.isNaN( minimumDb ) || Double.isNaN( maximumDb ) ) {
+            return;
+        }
+
+        final int verticalDivisions = Math.max( 1, _verticalDivisions.get() );
+        final int currentSpacing = _frequencyAmplitudeVerticalZoomChoices.getVerticalGridSpacing();
+        final int spacing = FrequencyAmplitudeVerticalZoomChoices
+                .getAutoFitVerticalGridSpacing( maximumDb - minimumDb,
+                                                verticalDivisions,
+                                                currentSpacing );
+        if ( spacing != currentSpacing ) {
+            _fitting = true;
+            try {
+                _frequencyAmplitudeVerticalZoomChoices.setVerticalGridSpacing( spacing );
+            }
+            finally {
+                _fitting = false;
+            }
+        }
+
+        // Only move the reference level if the scale changed or the data left
+        // it, and then snap it to a grid line where the data still fits.
+        final double halfScaleDb = 0.5d * verticalDivisions * spacing;
+        final double referenceDb = _referenceDb.get();
+        if ( ( spacing != currentSpacing ) || ( minimumDb < ( referenceDb - halfScaleDb ) )
+                || ( maximumDb > ( referenceDb + halfScaleDb ) ) ) {
+            final double centerDb = 0.5d * ( minimumDb + maximumDb );
+            final double snappedCenterDb = FastMath.rint( centerDb / spacing ) * spacing;
+            final boolean snappedCenterFits = ( minimumDb >= ( snappedCenterDb - halfScaleDb ) )
+                    && ( maximumDb <= ( snappedCenterDb + halfScaleDb ) );
+            _referenceDb.set( snappedCenterFits ? snappedCenterDb : centerDb );
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+import org.apache.commons.math3.util.FastMath;
+
+import java.util.Arrays;
+
+/**
+ * A search index over a sorted array of band Center Frequencies, for snapping
+ * arbitrary frequencies to the nearest band.
+ * <p>
+ * Regular fractional octave grids (where every band is a constant ratio above
+ * the previous band) are detected up front and searched in constant time via
+ * logarithmic arithmetic; all other grids, such as the nominal ISO frequencies
+ * or grids with extra linear steps merged in, use a binary search.
+ */
+public final class CenterFrequencyBandIndex {
+
+    // Relative tolerance for treating two frequencies as the same band.
+    public static final double RELATIVE_TOLERANCE      = 1.0e-9;
+
+    // Relative tolerance on band-to-band log ratios for a grid to be regular.
+    private static final double REGULAR_GRID_TOLERANCE = 1.0e-6;
+
+    // The sorted Center Frequencies; owned by this index and never modified.
+    private final double[]      _centerFrequencies;
+
+    // Flag for whether the grid is a constant ratio from band to band.
+    private final boolean       _regularGrid;
+
+    // Natural log of the lowest band, for regular grid lookups.
+    private final double        _logLowestFrequency;
+
+    // Reciprocal of the natural log of the band-to-band ratio.
+    private final double        _inverseLogBandRatio;
+
+    /**
+     * Makes an index over the given Center Frequencies, which must already be
+     * sorted in ascending order. The array is not copied, so the caller must
+     * not modify it afterwards.
+     *
+     * @param centerFrequencies
+     *            The sorted Center Frequencies to index
+     */
+    public CenterFrequencyBandIndex( final double[] centerFrequencies ) {
+        _centerFrequencies = centerFrequencies;
+
+        final int numberOfBands = centerFrequencies.length;
+        boolean regularGrid = ( numberOfBands > 2 ) && ( centerFrequencies[ 0 ] > 0.0d );
+        double logBandRatio = 0.0d;
+        if ( regularGrid ) {
+            logBandRatio = ( FastMath.log( centerFrequencies[ numberOfBands - 1 ] )
+                    - FastMath.log( centerFrequencies[ 0 ] ) ) / ( numberOfBands - 1 );
+            final double tolerance = REGULAR_GRID_TOLERANCE * FastMath.abs( logBandRatio );
+            for ( int i = 1; regularGrid && ( i < numberOfBands ); i++ ) {
+                final double currentLogBandRatio = FastMath
+                        .log( centerFrequencies[ i ] / centerFrequencies[ i - 1 ] );
+                regularGrid = FastMath.abs( currentLogBandRatio - logBandRatio ) <= tolerance;
+            }
+            regularGrid = regularGrid && ( logBandRatio > 0.0d );
+        }
+
+        _regularGrid = regularGrid;
+        _logLowestFrequency = regularGrid ? FastMath.log( centerFrequencies[ 0 ] ) : 0.0d;
+        _inverseLogBandRatio = regularGrid ? 1.0d / logBandRatio : 0.0d;
+    }
+
+    public int getBandCount() {
+        return _centerFrequencies.length;
+    }
+
+    public boolean isRegularGrid() {
+        return _regularGrid;
+    }
+
+    /**
+     * Returns the index of the band that matches the given frequency to within
+     * {@link #RELATIVE_TOLERANCE}, or -1 if there is no such band.
+     *
+     * @param frequency
+     *            The frequency to look up
+     * @return The matching band index, or -1 if not found
+     */
+    public int indexOf( final double frequency ) {
+        final int nearestIndex = nearestIndexOf( frequency );
+        if ( nearestIndex < 0 ) {
+            return -1;
+        }
+
+        final double nearestFrequency = _centerFrequencies[ nearestIndex ];
+        return isSameFrequency( nearestFrequency, frequency ) ? nearestIndex : -1;
+    }
+
+    /**
+     * Returns the index of the band whose Center Frequency is closest to the
+     * given frequency in absolute terms, or -1 if the index is empty.
+     *
+     * @param frequency
+     *            The frequency to snap to the nearest band
+     * @return The index of the nearest band, or -1 if there are no bands
+     */
+    public int nearestIndexOf( final double frequency ) {
+        final int numberOfBands = _centerFrequencies.length;
+        if ( ( numberOfBands == 0 ) || Double.isNaN( frequency ) ) {
+            return -1;
+        }
+
+        int candidateIndex;
+        if ( _regularGrid && ( frequency > 0.0d ) ) {
+            // The nearest band on a log scale is at most one band away from
+            // the nearest band on a linear scale, so check both neighbours.
+            final double bandPosition = ( FastMath.log( frequency ) - _logLowestFrequency )
+                    * _inverseLogBandRatio;
+            candidateIndex = ( int ) FastMath.rint( FastMath
+                    .max( 0.0d, FastMath.min( bandPosition, numberOfBands - 1 ) ) );
+        }
+        else {
+            final int searchIndex = Arrays.binarySearch( _centerFrequencies, frequency );
+            if ( searchIndex >= 0 ) {
+                return searchIndex;
+            }
+
+            // Start from the insertion point, and let the neighbour check
+            // decide between the bands on either side of it.
+            candidateIndex = FastMath.min( -( searchIndex + 1 ), numberOfBands - 1 );
+        }
+
+        int nearestIndex = candidateIndex;
+        double nearestDifference = FastMath.abs( _centerFrequencies[ candidateIndex ] - frequency );
+        if ( candidateIndex > 0 ) {
+            final double lowerDifference = FastMath
+                    .abs( _centerFrequencies[ candidateIndex - 1 ] - frequency );
+            if ( lowerDifference < nearestDifference ) {
+                nearestIndex = candidateIndex - 1;
+                nearestDifference = lowerDifference;
+            }
+        }
+        if ( candidateIndex < ( numberOfBands - 1 ) ) {
+            final double upperDifference = FastMath
+                    .abs( _centerFrequencies[ candidateIndex + 1 ] - frequency );
+            if ( upperDifference < nearestDifference ) {
+                nearestIndex = candidateIndex + 1;
+            }
+        }
+
+        return nearestIndex;
+    }
+
+    /**
+     * Merges two sorted arrays of frequencies into a new sorted array, dropping
+     * any frequency from the second array that matches one in the first array
+     * to within {@link #RELATIVE_TOLERANCE}.
+     *
+     * @param frequencies
+     *            The primary sorted frequencies
+     * @param extraFrequencies
+     *            The sorted frequencies to merge in
+     * @return A new sorted array with the union of both arrays
+     */
+    public static double[] mergeSorted( final double[] frequencies,
+                                        final double[] extraFrequencies ) {
+        final double[] merged = new double[ frequencies.length + extraFrequencies.length ];
+        int i = 0;
+        int j = 0;
+        int mergedLength = 0;
+        while ( ( i < frequencies.length ) || ( j < extraFrequencies.length ) ) {
+            final double nextFrequency;
+            if ( j >= extraFrequencies.length ) {
+                nextFrequency = frequencies[ i++ ];
+            }
+            else if ( i >= frequencies.length ) {
+                nextFrequency = extraFrequencies[ j++ ];
+            }
+            else if ( isSameFrequency( frequencies[ i ], extraFrequencies[ j ] ) ) {
+                // Prefer the primary frequency, and skip the extra duplicate.
+                nextFrequency = frequencies[ i++ ];
+                j++;
+            }
+            else if ( frequencies[ i ] < extraFrequencies[ j ] ) {
+                nextFrequency = frequencies[ i++ ];
+            }
+            else {
+                nextFrequency = extraFrequencies[ j++ ];
+            }
+
+            // Guard against duplicates within either of the source arrays.
+            if ( ( mergedLength == 0 )
+                    || !isSameFrequency( merged[ mergedLength - 1 ], nextFrequency ) ) {
+                merged[ mergedLength++ ] = nextFrequency;
+            }
+        }
+
+        return ( mergedLength == merged.length )
+            ? merged
+            : Arrays.copyOf( merged, mergedLength );
+    }
+
+    /**
+     * Makes an ascending array of linearly spaced frequencies.
+     *
+     * @param startFrequency
+     *            The first frequency
+     * @param stopFrequency
+     *            The last frequency (inclusive)
+     * @param frequencyStep
+     *            The step between successive frequencies
+     * @return The linearly spaced frequencies
+     */
+    public static double[] makeLinearSteps( final double startFrequency,
+                                            final double stopFrequency,
+                                            final double frequencyStep ) {
+        final int numberOfSteps = 1 + ( int ) FastMath
+                .floor( ( ( stopFrequency - startFrequency ) / frequencyStep ) + 0.5d );
+        final double[] steps = new double[ FastMath.max( 0, numberOfSteps ) ];
+        for ( int i = 0; i < steps.length; i++ ) {
+            steps[ i ] = startFrequency + ( i * frequencyStep );
+        }
+
+        return steps;
+    }
+
+    private static boolean isSameFrequency( final double frequency1,
+                                            final double frequency2 ) {
+        return FastMath.abs( frequency1 - frequency2 ) <= ( RELATIVE_TOLERANCE
+                * FastMath.max( FastMath.abs( frequency1 ), FastMath.abs( frequency2 ) ) );
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable table of Center Frequencies for a single Relative Bandwidth and
+ * Octave Range, holding both the primitive values and their formatted labels.
+ * The values must be supplied in ascending order.
+ * <p>
+ * Tables are shared process-wide via {@link CenterFrequencyBandTables}, so the
+ * backing arrays are never exposed to clients for modification.
+ */
+public final class CenterFrequencyBandTable {
+
+    // The Center Frequencies, in ascending order.
+    private final double[]       _centerFrequencies;
+
+    // The formatted Center Frequencies, matching the primitive values by index.
+    private final String[]       _centerFrequencyLabels;
+
+    // Cache an unmodifiable list view of the labels, to avoid repeated wrapping.
+    private final List< String > _centerFrequencyLabelList;
+
+    // The search index for snapping frequencies to the nearest band.
+    private final CenterFrequencyBandIndex _bandIndex;
+
+    public CenterFrequencyBandTable( final double[] centerFrequencies,
+                                     final String[] centerFrequencyLabels ) {
+        if ( centerFrequencies.length != centerFrequencyLabels.length ) {
+            throw new IllegalArgumentException(
+                    "Center Frequency values and labels must match in size" ); //$NON-NLS-1$
+        }
+
+        _centerFrequencies = centerFrequencies.clone();
+        _centerFrequencyLabels = centerFrequencyLabels.clone();
+        _centerFrequencyLabelList = Collections
+                .unmodifiableList( Arrays.asList( _centerFrequencyLabels ) );
+        _bandIndex = new CenterFrequencyBandIndex( _centerFrequencies );
+    }
+
+    public int getBandCount() {
+        return _centerFrequencies.length;
+    }
+
+    public double getCenterFrequency( final int bandIndex ) {
+        return _centerFrequencies[ bandIndex ];
+    }
+
+    public String getCenterFrequencyLabel( final int bandIndex ) {
+        return _centerFrequencyLabels[ bandIndex ];
+    }
+
+    public List< String > getCenterFrequencyLabels() {
+        return _centerFrequencyLabelList;
+    }
+
+    public double[] copyCenterFrequencies() {
+        return _centerFrequencies.clone();
+    }
+
+    public CenterFrequencyBandIndex getBandIndex() {
+        return _bandIndex;
+    }
+
+    // Return the index of an exact label match, or -1 if absent.
+    public int indexOfLabel( final String centerFrequencyLabel ) {
+        for ( int i = 0; i < _centerFrequencyLabels.length; i++ ) {
+            if ( _centerFrequencyLabels[ i ].equals( centerFrequencyLabel ) ) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    // Return the index of an exact Center Frequency match, or -1 if absent.
+    public int indexOf( final double centerFrequency ) {
+        return _bandIndex.indexOf( centerFrequency );
+    }
+
+    // Return the index of the closest Center Frequency, or -1 if empty.
+    public int nearestIndexOf( final double centerFrequency ) {
+        return _bandIndex.nearestIndexOf( centerFrequency );
+    }
+}
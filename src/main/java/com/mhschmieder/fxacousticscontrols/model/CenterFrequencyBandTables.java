@@ -0,0 +1,341 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+import com.mhschmieder.jacoustics.CenterFrequencies;
+import com.mhschmieder.jacoustics.FrequencySignalUtilities;
+import com.mhschmieder.jacoustics.RelativeBandwidth;
+import org.apache.commons.math3.util.FastMath;
+
+import java.text.NumberFormat;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A process-wide cache of immutable Center Frequency band tables, keyed by
+ * Relative Bandwidth, Octave Range, wide band start indices and the number
+ * format (and thus locale) used for the formatted labels.
+ * <p>
+ * All Center Frequency Selectors that share start indices and number format
+ * share the same table set, so that changes in Relative Bandwidth or Octave
+ * Range reuse tables that were computed the first time they were needed.
+ */
+public final class CenterFrequencyBandTables {
+
+    // Stop indices (exclusive) for the nominal wide band Center Frequencies.
+    public static final int        FULL_OCTAVE_STOP_INDEX  = 15;
+    public static final int        THIRD_OCTAVE_STOP_INDEX = 43;
+
+    // The 1 kHz steps that are merged into the 10 kHz to 20 kHz Octave Range.
+    private static final double[]  HIGH_FREQUENCY_STEPS    = CenterFrequencyBandIndex
+            .makeLinearSteps( 10000.0d, 20000.0d, 1000.0d );
+
+    // Octave offsets from 10 Hz run from "10 Hz to 20 Hz" to "10 kHz to 20 kHz".
+    private static final int       NUMBER_OF_OCTAVE_SLOTS  = 11;
+
+    // The shared table sets, one per distinct start indices and number format.
+    private static final ConcurrentMap< TableSetKey, CenterFrequencyBandTables > TABLE_SETS =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Returns the shared table set for the given wide band start indices and
+     * number format, creating it on first use.
+     *
+     * @param startIndexForOneOctave
+     *            The first nominal full octave band index to display
+     * @param startIndexForThirdOctave
+     *            The first nominal third octave band index to display
+     * @param numberFormat
+     *            The number format to use for the Center Frequency labels,
+     *            which is copied when a new table set is cached, so that later
+     *            changes do not affect the cache
+     * @return The shared table set for the given parameters
+     */
+    public static CenterFrequencyBandTables getInstance( final int startIndexForOneOctave,
+                                                         final int startIndexForThirdOctave,
+                                                         final NumberFormat numberFormat ) {
+        // Look up with the caller's number format first, as it is only read
+        // for the lookup, and only copy it for the key of a new table set.
+        final CenterFrequencyBandTables cachedTableSet = TABLE_SETS
+                .get( new TableSetKey( startIndexForOneOctave,
+                                       startIndexForThirdOctave,
+                                       numberFormat ) );
+        if ( cachedTableSet != null ) {
+            return cachedTableSet;
+        }
+
+        final TableSetKey tableSetKey = new TableSetKey( startIndexForOneOctave,
+                                                         startIndexForThirdOctave,
+                                                         ( NumberFormat ) numberFormat.clone() );
+        return TABLE_SETS.computeIfAbsent( tableSetKey, CenterFrequencyBandTables::new );
+    }
+
+    // The key that this table set was created for.
+    private final TableSetKey                                  _tableSetKey;
+
+    // A private copy of the number format, as formats are not thread-safe.
+    private final NumberFormat                                 _numberFormat;
+
+    // The lazily computed wide band tables, for full and third octave.
+    private final AtomicReferenceArray< CenterFrequencyBandTable > _wideBandTables;
+
+    // The lazily computed narrow band tables, by octave divider, with each
+    // Octave Range's table only computed the first time it is needed.
+    private final ConcurrentMap< Integer, AtomicReferenceArray< CenterFrequencyBandTable > > _narrowBandTables;
+
+    private CenterFrequencyBandTables( final TableSetKey tableSetKey ) {
+        _tableSetKey = tableSetKey;
+        _numberFormat = ( NumberFormat ) tableSetKey._numberFormat.clone();
+        _wideBandTables = new AtomicReferenceArray<>( 2 );
+        _narrowBandTables = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns {@code true} if this table set formats its labels the same way
+     * as the given number format, which lets clients keep a reference to the
+     * table set and only look it up again when their number format changes.
+     *
+     * @param numberFormat
+     *            The number format to compare against
+     * @return {@code true} if the labels match what the number format produces
+     */
+    public boolean isFormattedBy( final NumberFormat numberFormat ) {
+        return _tableSetKey._numberFormat.equals( numberFormat );
+    }
+
+    /**
+     * Returns the shared band table for the given Relative Bandwidth and Octave
+     * Range, computing it on first use.
+     *
+     * @param relativeBandwidth
+     *            The Relative Bandwidth of the bands
+     * @param octaveRange
+     *            The Octave Range to cover (ignored for wide band tables)
+     * @return The shared band table
+     */
+    public CenterFrequencyBandTable getBandTable( final RelativeBandwidth relativeBandwidth,
+                                                  final OctaveRange octaveRange ) {
+        switch ( relativeBandwidth ) {
+        case ONE_OCTAVE:
+            return getWideBandTable( 0 );
+        case THIRD_OCTAVE:
+            return getWideBandTable( 1 );
+        case SIXTH_OCTAVE:
+        case TWELTH_OCTAVE:
+        case TWENTYFOURTH_OCTAVE:
+        case FORTYEIGHTH_OCTAVE:
+            return getNarrowBandTable( relativeBandwidth.toOctaveDivider(), octaveRange );
+        default:
+            return makeBandTable( new double[ 0 ] );
+        }
+    }
+
+    /**
+     * Returns the shared band table for the given Relative Bandwidth and legacy
+     * Octave Range label, computing it on first use.
+     *
+     * @param relativeBandwidth
+     *            The Relative Bandwidth of the bands
+     * @param sOctaveRange
+     *            The Octave Range label (ignored for wide band tables)
+     * @return The shared band table
+     */
+    public CenterFrequencyBandTable getBandTable( final RelativeBandwidth relativeBandwidth,
+                                                  final String sOctaveRange ) {
+        final OctaveRange octaveRange = OctaveRange.fromLabel( sOctaveRange );
+        if ( ( octaveRange == null ) && !OctaveRange.isWideBand( relativeBandwidth ) ) {
+            // Unexpected Octave Ranges are still honored, but not cached.
+            return makeNarrowBandTable( relativeBandwidth.toOctaveDivider(),
+                                        FrequencySignalUtilities
+                                                .getOctaveOffsetFrom10Hz( sOctaveRange ),
+                                        false );
+        }
+
+        return getBandTable( relativeBandwidth, octaveRange );
+    }
+
+    /**
+     * Returns the shared narrow band table for the given octave divider and
+     * Octave Range, computing it on first use. This supports octave dividers
+     * that have no corresponding Relative Bandwidth, such as 1/96 octave.
+     *
+     * @param octaveDivider
+     *            The number of bands per octave
+     * @param octaveRange
+     *            The narrow Octave Range to cover
+     * @return The shared band table, which is empty if the Octave Range is
+     *         not a narrow Octave Range
+     */
+    public CenterFrequencyBandTable getNarrowBandTable( final int octaveDivider,
+                                                        final OctaveRange octaveRange ) {
+        final int octaveSlot = ( octaveRange != null )
+            ? octaveRange.getOctaveOffsetFrom10Hz()
+            : -1;
+        if ( ( octaveDivider <= 0 ) || ( octaveSlot < 0 )
+                || ( octaveSlot >= NUMBER_OF_OCTAVE_SLOTS ) ) {
+            return makeBandTable( new double[ 0 ] );
+        }
+
+        final AtomicReferenceArray< CenterFrequencyBandTable > octaveTables = _narrowBandTables
+                .computeIfAbsent( octaveDivider,
+                                  divider -> new AtomicReferenceArray<>( NUMBER_OF_OCTAVE_SLOTS ) );
+        final CenterFrequencyBandTable bandTable = octaveTables.get( octaveSlot );
+        if ( bandTable != null ) {
+            return bandTable;
+        }
+
+        // If another thread got there first, defer to its table so that all
+        // clients share the same instance.
+        final CenterFrequencyBandTable newBandTable = makeNarrowBandTable( octaveDivider,
+                                                                           octaveSlot,
+                                                                           octaveRange.hasHighFrequencySteps() );
+        return octaveTables.compareAndSet( octaveSlot, null, newBandTable )
+            ? newBandTable
+            : octaveTables.get( octaveSlot );
+    }
+
+    private CenterFrequencyBandTable getWideBandTable( final int tableIndex ) {
+        final CenterFrequencyBandTable bandTable = _wideBandTables.get( tableIndex );
+        if ( bandTable != null ) {
+            return bandTable;
+        }
+
+        final double[] centerFrequencies = ( tableIndex == 0 )
+            ? Arrays.copyOfRange( CenterFrequencies.NOMINAL_FULL_OCTAVE_CENTER_FREQUENCIES,
+                                  _tableSetKey._startIndexForOneOctave,
+                                  FULL_OCTAVE_STOP_INDEX )
+            : Arrays.copyOfRange( CenterFrequencies.NOMINAL_THIRD_OCTAVE_CENTER_FREQUENCIES,
+                                  _tableSetKey._startIndexForThirdOctave,
+                                  THIRD_OCTAVE_STOP_INDEX );
+        final CenterFrequencyBandTable newBandTable = makeBandTable( centerFrequencies );
+        return _wideBandTables.compareAndSet( tableIndex, null, newBandTable )
+            ? newBandTable
+            : _wideBandTables.get( tableIndex );
+    }
+
+    private CenterFrequencyBandTable makeNarrowBandTable( final int octaveDivider,
+                                                          final int octaveOffsetFrom10Hz,
+                                                          final boolean highFrequencySteps ) {
+        if ( octaveDivider <= 0 ) {
+            return makeBandTable( new double[ 0 ] );
+        }
+
+        final int startIndexAt10Hz = 10 * ( int ) FastMath.ceil( octaveDivider / 3.0d );
+        final int startIndex = startIndexAt10Hz + ( octaveOffsetFrom10Hz * octaveDivider );
+        double[] centerFrequencies = new double[ octaveDivider ];
+        for ( int i = 0; i < octaveDivider; i++ ) {
+            centerFrequencies[ i ] = FrequencySignalUtilities
+                    .getCenterFrequencyByBandNumber( startIndex + i, octaveDivider );
+        }
+
+        if ( highFrequencySteps ) {
+            // Insert the specific 1 kHz frequencies between 10 kHz and
+            // 20 kHz in the midst of the algorithmically generated ones,
+            // avoiding duplicates of the algorithmically generated values.
+            centerFrequencies = CenterFrequencyBandIndex
+                    .mergeSorted( centerFrequencies, HIGH_FREQUENCY_STEPS );
+        }
+
+        return makeBandTable( centerFrequencies );
+    }
+
+    private CenterFrequencyBandTable makeBandTable( final double[] sourceFrequencies ) {
+        // Guard against source tables that are not strictly ascending, and
+        // drop any duplicates, as the band index requires sorted values.
+        Arrays.sort( sourceFrequencies );
+        final double[] centerFrequencies = CenterFrequencyBandIndex
+                .mergeSorted( sourceFrequencies, new double[ 0 ] );
+
+        final String[] labels = new String[ centerFrequencies.length ];
+        synchronized ( _numberFormat ) {
+            for ( int i = 0; i < centerFrequencies.length; i++ ) {
+                labels[ i ] = FrequencySignalUtilities
+                        .getFormattedFrequency( centerFrequencies[ i ], _numberFormat );
+            }
+        }
+
+        return new CenterFrequencyBandTable( centerFrequencies, labels );
+    }
+
+    /**
+     * Formats a single frequency the same way as the band table labels.
+     *
+     * @param frequency
+     *            The frequency to format
+     * @return The formatted frequency
+     */
+    public String getFormattedFrequency( final double frequency ) {
+        synchronized ( _numberFormat ) {
+            return FrequencySignalUtilities.getFormattedFrequency( frequency, _numberFormat );
+        }
+    }
+
+    // Identifies a table set by everything that its band tables depend upon.
+    private static final class TableSetKey {
+
+        private final int          _startIndexForOneOctave;
+        private final int          _startIndexForThirdOctave;
+        private final NumberFormat _numberFormat;
+
+        TableSetKey( final int startIndexForOneOctave,
+                     final int startIndexForThirdOctave,
+                     final NumberFormat numberFormat ) {
+            _startIndexForOneOctave = startIndexForOneOctave;
+            _startIndexForThirdOctave = startIndexForThirdOctave;
+            _numberFormat = numberFormat;
+        }
+
+        @Override
+        public boolean equals( final Object other ) {
+            if ( this == other ) {
+                return true;
+            }
+            if ( !( other instanceof TableSetKey ) ) {
+                return false;
+            }
+
+            final TableSetKey otherKey = ( TableSetKey ) other;
+            return ( _startIndexForOneOctave == otherKey._startIndexForOneOctave )
+                    && ( _startIndexForThirdOctave == otherKey._startIndexForThirdOctave )
+                    && _numberFormat.equals( otherKey._numberFormat );
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = _startIndexForOneOctave;
+            hash = ( 31 * hash ) + _startIndexForThirdOctave;
+            hash = ( 31 * hash ) + _numberFormat.hashCode();
+            return hash;
+        }
+    }
+}
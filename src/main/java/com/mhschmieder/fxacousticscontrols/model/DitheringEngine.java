@@ -0,0 +1,188 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * A deterministic dithering engine for arrays of sound sources, as controlled
+ * by the Dithering Amount spinner.
+ * <p>
+ * Each source gets its own random stream, seeded from the engine seed and the
+ * source index alone, so the perturbation applied to a given source never
+ * depends on how the work was split up. Sources can therefore be dithered in
+ * parallel across all cores while the results stay bit-identical for a given
+ * seed, whatever the thread count or scheduling order.
+ * <p>
+ * Source parameters are stored as flat primitive arrays, with a fixed number
+ * of values per source (e.g. x, y, z, level, delay), to avoid boxing.
+ */
+public final class DitheringEngine {
+
+    // Default seed, so that regression runs are reproducible out of the box.
+    public static final long DITHERING_SEED_DEFAULT = 0x5DEECE66DL;
+
+    // Below this many values, the fork/join overhead outweighs the gain.
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    // Golden ratio increment used by SplitMix64 to decorrelate seeds.
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    // The seed from which all per-source streams are derived.
+    private final long _seed;
+
+    public DitheringEngine() {
+        this( DITHERING_SEED_DEFAULT );
+    }
+
+    public DitheringEngine( final long seed ) {
+        _seed = seed;
+    }
+
+    public long getSeed() {
+        return _seed;
+    }
+
+    /**
+     * Returns the seed of the random stream for one source, which is a
+     * SplitMix64 finalization of the engine seed and the source index.
+     * <p>
+     * Neighbouring indices thus map to unrelated seeds, which is not the case
+     * if the index is simply added to the engine seed.
+     *
+     * @param sourceIndex
+     *            The index of the source in the source array
+     * @return The seed for the random stream of that source
+     */
+    public long getSourceSeed( final int sourceIndex ) {
+        long z = _seed + ( ( sourceIndex + 1L ) * GOLDEN_GAMMA );
+        z = ( z ^ ( z >>> 30 ) ) * 0xBF58476D1CE4E5B9L;
+        z = ( z ^ ( z >>> 27 ) ) * 0x94D049BB133111EBL;
+        return z ^ ( z >>> 31 );
+    }
+
+    /**
+     * Dithers the parameters of a set of sources, scaling each value by a
+     * uniformly distributed factor in [1 - amount, 1 + amount).
+     * <p>
+     * The output may be the same array as the input, as each value is only
+     * read once and written back to the same place.
+     *
+     * @param values
+     *            The source parameters, stored source by source
+     * @param sourceCount
+     *            The number of sources to dither
+     * @param valuesPerSource
+     *            The number of parameters stored for each source
+     * @param ditheringAmount
+     *            The relative dithering amount (e.g. 0.05 for 5%)
+     * @param ditheredValues
+     *            The output array for the dithered source parameters
+     */
+    public void ditherRelative( final double[] values,
+                                final int sourceCount,
+                                final int valuesPerSource,
+                                final double ditheringAmount,
+                                final double[] ditheredValues ) {
+        dither( values, sourceCount, valuesPerSource, ditheringAmount, true, ditheredValues );
+    }
+
+    /**
+     * Dithers the parameters of a set of sources, offsetting each value by a
+     * uniformly distributed amount in [-amount, amount).
+     * <p>
+     * The output may be the same array as the input, as each value is only
+     * read once and written back to the same place.
+     *
+     * @param values
+     *            The source parameters, stored source by source
+     * @param sourceCount
+     *            The number of sources to dither
+     * @param valuesPerSource
+     *            The number of parameters stored for each source
+     * @param ditheringAmount
+     *            The absolute dithering amount, in the units of the values
+     * @param ditheredValues
+     *            The output array for the dithered source parameters
+     */
+    public void ditherAbsolute( final double[] values,
+                                final int sourceCount,
+                                final int valuesPerSource,
+                                final double ditheringAmount,
+                                final double[] ditheredValues ) {
+        dither( values, sourceCount, valuesPerSource, ditheringAmount, false, ditheredValues );
+    }
+
+    private void dither( final double[] values,
+                         final int sourceCount,
+                         final int valuesPerSource,
+                         final double ditheringAmount,
+                         final boolean relative,
+                         final double[] ditheredValues ) {
+        if ( ( sourceCount < 0 ) || ( valuesPerSource < 1 ) ) {
+            throw new IllegalArgumentException( "Invalid source layout" ); //$NON-NLS-1$
+        }
+        final int numberOfValues = sourceCount * valuesPerSource;
+        if ( ( values.length < numberOfValues ) || ( ditheredValues.length < numberOfValues ) ) {
+            throw new IllegalArgumentException( "Source arrays are too short" ); //$NON-NLS-1$
+        }
+
+        // NOTE: The split into parallel tasks only affects which thread
+        // handles which source, never the stream a source draws from.
+        IntStream sourceIndices = IntStream.range( 0, sourceCount );
+        if ( numberOfValues >= PARALLEL_THRESHOLD ) {
+            sourceIndices = sourceIndices.parallel();
+        }
+        sourceIndices.forEach( sourceIndex -> ditherSource( values,
+                                                            sourceIndex,
+                                                            valuesPerSource,
+                                                            ditheringAmount,
+                                                            relative,
+                                                            ditheredValues ) );
+    }
+
+    private void ditherSource( final double[] values,
+                               final int sourceIndex,
+                               final int valuesPerSource,
+                               final double ditheringAmount,
+                               final boolean relative,
+                               final double[] ditheredValues ) {
+        final SplittableRandom random = new SplittableRandom( getSourceSeed( sourceIndex ) );
+        final int offset = sourceIndex * valuesPerSource;
+        for ( int i = offset, end = offset + valuesPerSource; i < end; i++ ) {
+            final double perturbation = ditheringAmount * random.nextDouble( -1.0d, 1.0d );
+            ditheredValues[ i ] = relative
+                ? values[ i ] * ( 1.0d + perturbation )
+                : values[ i ] + perturbation;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * A precomputed radix-2 FFT plan for one analysis window, as chosen by the
+ * Analysis Time zoom, and one sample rate.
+ * <p>
+ * The plan holds the bit-reversal permutation, the twiddle factors and the
+ * (symmetric) Hann window, so transforms do no trigonometry and no
+ * allocation; the FFT size is the smallest power of two that holds the
+ * window. Plans are immutable apart from their per-thread scratch buffers,
+ * and so are safe to share across threads.
+ */
+public final class FftPlan {
+
+    // The FFT size, which is a power of two, and its base-two logarithm.
+    private final int                      _fftSize;
+    private final int                      _log2FftSize;
+
+    // The analysis window, in samples, which is zero-padded to the FFT size.
+    private final int                      _windowLength;
+
+    // The sample rate, for the bin frequencies.
+    private final double                   _sampleRate;
+
+    // The bit-reversal permutation of the bin indices.
+    private final int[]                    _bitReversal;
+
+    // The twiddle factors, cos(2*pi*k/N) and -sin(2*pi*k/N) for k < N/2.
+    private final double[]                 _twiddleCos;
+    private final double[]                 _twiddleSin;
+
+    // The Hann window, and the sum of its values for amplitude correction.
+    private final double[]                 _window;
+    private final double                   _windowSum;
+
+    // Per-thread real and imaginary scratch buffers, for convenience methods
+    // that don't take caller-supplied buffers.
+    private final ThreadLocal< double[][] > _workspace;
+
+    public FftPlan( final int windowLength, final double sampleRate ) {
+        if ( ( windowLength < 1 ) || ( windowLength > ( 1 << 30 ) ) ) {
+            throw new IllegalArgumentException( "Invalid FFT window length" ); //$NON-NLS-1$
+        }
+
+        _windowLength = windowLength;
+        _sampleRate = sampleRate;
+        _log2FftSize = 32 - Integer.numberOfLeadingZeros( windowLength - 1 );
+        _fftSize = 1 << _log2FftSize;
+
+        _bitReversal = new int[ _fftSize ];
+        for ( int i = 0; i < _fftSize; i++ ) {
+            _bitReversal[ i ] = ( _log2FftSize == 0 )
+                ? 0
+                : Integer.reverse( i ) >>> ( 32 - _log2FftSize );
+        }
+
+        final int halfFftSize = _fftSize / 2;
+        _twiddleCos = new double[ halfFftSize ];
+        _twiddleSin = new double[ halfFftSize ];
+        for ( int k = 0; k < halfFftSize; k++ ) {
+            final double angle = ( 2.0d * FastMath.PI * k ) / _fftSize;
+            _twiddleCos[ k ] = FastMath.cos( angle );
+            _twiddleSin[ k ] = -FastMath.sin( angle );
+        }
+
+        // NOTE: The window is symmetric rather than periodic, as it gates a
+        // response that is centered on the window rather than a periodic
+        // signal; a single-sample window is left unweighted.
+        _window = new double[ windowLength ];
+        double windowSum = 0.0d;
+        for ( int i = 0; i < windowLength; i++ ) {
+            _window[ i ] = ( windowLength == 1 )
+                ? 1.0d
+                : 0.5d - ( 0.5d * FastMath.cos( ( 2.0d * FastMath.PI * i )
+                        / ( windowLength - 1 ) ) );
+            windowSum += _window[ i ];
+        }
+        _windowSum = windowSum;
+
+        _workspace = ThreadLocal
+                .withInitial( () -> new double[][] { new double[ _fftSize ], new double[ _fftSize ] } );
+    }
+
+    public int getFftSize() {
+        return _fftSize;
+    }
+
+    public int getWindowLength() {
+        return _windowLength;
+    }
+
+    public double getSampleRate() {
+        return _sampleRate;
+    }
+
+    // Get the number of bins in a one-sided spectrum, from DC to Nyquist.
+    public int getBinCount() {
+        return ( _fftSize / 2 ) + 1;
+    }
+
+    public double getBinFrequency( final int bin ) {
+        return ( bin * _sampleRate ) / _fftSize;
+    }
+
+    // Get the sum of the window values, which is the coherent gain times the
+    // window length.
+    public double getWindowSum() {
+        return _windowSum;
+    }
+
+    /**
+     * Transforms a complex sequence in place, using the forward (negative
+     * exponent) convention and no scaling.
+     *
+     * @param real
+     *            The real parts, at least as long as the FFT size
+     * @param imaginary
+     *            The imaginary parts, at least as long as the FFT size
+     */
+    public void transform( final double[] real, final double[] imaginary ) {
+        for ( int i = 0; i < _fftSize; i++ ) {
+            final int j = _bitReversal[ i ];
+            if ( j > i ) {
+                final double re = real[ i ];
+                real[ i ] = real[ j ];
+                real[ j ] = re;
+                final double im = imaginary[ i ];
+                imaginary[ i ] = imaginary[ j ];
+                imaginary[ j ] = im;
+            }
+        }
+
+        for ( int length = 2; length <= _fftSize; length <<= 1 ) {
+            final int halfLength = length >>> 1;
+            final int twiddleStride = _fftSize / length;
+            for ( int start = 0; start < _fftSize; start += length ) {
+                for ( int k = 0, t = 0; k < halfLength; k++, t += twiddleStride ) {
+                    final int even = start + k;
+                    final int odd = even + halfLength;
+                    final double wr = _twiddleCos[ t ];
+                    final double wi = _twiddleSin[ t ];
+                    final double oddRe = ( real[ odd ] * wr ) - ( imaginary[ odd ] * wi );
+                    final double oddIm = ( real[ odd ] * wi ) + ( imaginary[ odd ] * wr );
+                    real[ odd ] = real[ even ] - oddRe;
+                    imaginary[ odd ] = imaginary[ even ] - oddIm;
+                    real[ even ] += oddRe;
+                    imaginary[ even ] += oddIm;
+                }
+            }
+        }
+    }
+
+    /**
+     * Windows a run of real samples, zero-pads it to the FFT size, and
+     * transforms it into caller-supplied buffers. Samples before the start or
+     * past the end of the input are taken to be zero, so a window may hang
+     * over either end of a capture.
+     *
+     * @param samples
+     *            The real time-domain samples
+     * @param windowStart
+     *            The index of the sample at the start of the window, which
+     *            may be negative
+     * @param real
+     *            The output real parts, at least as long as the FFT size
+     * @param imaginary
+     *            The output imaginary parts, at least as long as the FFT size
+     */
+    public void forwardWindowed( final double[] samples,
+                                 final int windowStart,
+                                 final double[] real,
+                                 final double[] imaginary ) {
+        for ( int i = 0; i < _windowLength; i++ ) {
+            final int sampleIndex = windowStart + i;
+            real[ i ] = ( ( sampleIndex >= 0 ) && ( sampleIndex < samples.length ) )
+                ? samples[ sampleIndex ] * _window[ i ]
+                : 0.0d;
+        }
+        for ( int i = _windowLength; i < _fftSize; i++ ) {
+            real[ i ] = 0.0d;
+        }
+        for ( int i = 0; i < _fftSize; i++ ) {
+            imaginary[ i ] = 0.0d;
+        }
+
+        transform( real, imaginary );
+    }
+
+    /**
+     * Computes the one-sided magnitude spectrum of a windowed run of samples,
+     * corrected for the coherent gain of the window, using this thread's
+     * scratch buffers.
+     *
+     * @param samples
+     *            The real time-domain samples
+     * @param windowStart
+     *            The index of the sample at the start of the window, which
+     *            may be negative
+     * @param magnitudes
+     *            The output magnitudes, at least as long as the bin count
+     */
+    public void getMagnitudeSpectrum( final double[] samples,
+                                      final int windowStart,
+                                      final double[] magnitudes ) {
+        final double[][] workspace = _workspace.get();
+        final double[] real = workspace[ 0 ];
+        final double[] imaginary = workspace[ 1 ];
+        forwardWindowed( samples, windowStart, real, imaginary );
+
+        final double scale = ( _windowSum > 0.0d ) ? _windowLength / _windowSum : 1.0d;
+        for ( int bin = 0, binCount = getBinCount(); bin < binCount; bin++ ) {
+            final double re = real[ bin ];
+            final double im = imaginary[ bin ];
+            magnitudes[ bin ] = scale * FastMath.sqrt( ( re * re ) + ( im * im ) );
+        }
+    }
+}
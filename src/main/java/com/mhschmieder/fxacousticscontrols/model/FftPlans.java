@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A process-wide cache of FFT plans, per Analysis Time edge and sample rate,
+ * so that sweeping through the Analysis Time zoom choices only computes each
+ * plan's twiddle factors and window once.
+ */
+public final class FftPlans {
+
+    // The FFT plans, per Analysis Time edge and sample rate.
+    private static final ConcurrentMap< AnalysisWindowKey, FftPlan > FFT_PLANS =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The default constructor is disabled, as this is a static cache class.
+     */
+    private FftPlans() {}
+
+    /**
+     * Returns the number of samples in a symmetric Analysis Time window.
+     *
+     * @param analysisTimeEdgeMs
+     *            The edge of the time window, in ms either side of time zero
+     * @param sampleRate
+     *            The sample rate, in Hz
+     * @return The number of samples spanned by the window, at least one
+     */
+    public static int getWindowLength( final double analysisTimeEdgeMs,
+                                       final double sampleRate ) {
+        return Math.max( 1, ( int ) Math.round( 2.0d * analysisTimeEdgeMs * 1.0e-3d * sampleRate ) );
+    }
+
+    /**
+     * Returns the shared FFT plan for a symmetric Analysis Time window, such as
+     * the one for each Analysis Time zoom choice, computing it on first use.
+     *
+     * @param analysisTimeEdgeMs
+     *            The edge of the time window, in ms either side of time zero
+     * @param sampleRate
+     *            The sample rate, in Hz
+     * @return The FFT plan for the window
+     */
+    public static FftPlan getFftPlan( final double analysisTimeEdgeMs,
+                                      final double sampleRate ) {
+        return FFT_PLANS.computeIfAbsent( new AnalysisWindowKey( analysisTimeEdgeMs, sampleRate ),
+                                          analysisWindowKey -> new FftPlan( getWindowLength(
+                                                  analysisTimeEdgeMs,
+                                                  sampleRate ), sampleRate ) );
+    }
+
+    // Drop all cached plans, such as when the capture device changes.
+    public static void clear() {
+        FFT_PLANS.clear();
+    }
+
+    // Key for an analysis window, by Analysis Time edge and sample rate.
+    private static final class AnalysisWindowKey {
+
+        private final double _analysisTimeEdgeMs;
+        private final double _sampleRate;
+
+        AnalysisWindowKey( final double analysisTimeEdgeMs, final double sampleRate ) {
+            _analysisTimeEdgeMs = analysisTimeEdgeMs;
+            _sampleRate = sampleRate;
+        }
+
+        @Override
+        public boolean equals( final Object other ) {
+            if ( this == other ) {
+                return true;
+            }
+            if ( !( other instanceof AnalysisWindowKey ) ) {
+                return false;
+            }
+
+            final AnalysisWindowKey otherKey = ( AnalysisWindowKey ) other;
+            return ( Double.compare( _analysisTimeEdgeMs, otherKey._analysisTimeEdgeMs ) == 0 )
+                    && ( Double.compare( _sampleRate, otherKey._sampleRate ) == 0 );
+        }
+
+        @Override
+        public int hashCode() {
+            return ( 31 * Double.hashCode( _analysisTimeEdgeMs ) ) + Double.hashCode( _sampleRate );
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * A fractional-octave smoothing engine for frequency responses on arbitrary
+ * (ascending, positive) frequency bins, for any octave divider.
+ * <p>
+ * Each output bin is the mean of all input bins within its fractional-octave
+ * window, which is computed from a prefix sum in constant time. As the window
+ * bounds only ever move up with frequency, two indices track them across the
+ * whole response, so a full pass is O(N) regardless of the octave divider.
+ * <p>
+ * The prefix sum buffer is kept between calls and only grows when a longer
+ * response is smoothed, so steady-state smoothing does not allocate. Instances
+ * are therefore not thread-safe; use one per thread.
+ */
+public final class FractionalOctaveSmoother {
+
+    // Scratch buffer for the prefix sums, one longer than the response.
+    private double[] _prefixSums;
+
+    public FractionalOctaveSmoother() {
+        this( 0 );
+    }
+
+    public FractionalOctaveSmoother( final int initialBinCapacity ) {
+        _prefixSums = new double[ initialBinCapacity + 1 ];
+    }
+
+    /**
+     * Returns the ratio of the upper edge of a fractional-octave window to its
+     * center frequency, which is also the ratio of the center to the lower edge.
+     *
+     * @param octaveDivider
+     *            The number of smoothing bands per octave
+     * @return The half-bandwidth frequency ratio, 2^(1/(2*divider))
+     */
+    public static double getHalfBandwidthRatio( final int octaveDivider ) {
+        return FastMath.pow( 2.0d, 0.5d / octaveDivider );
+    }
+
+    /**
+     * Smooths a response in fractional-octave windows centered on each bin.
+     * An octave divider of zero or less means narrow band (no smoothing), in
+     * which case the values are just copied.
+     * <p>
+     * The output may be the same array as the input, as the input is read in
+     * full into the prefix sums before any output is written.
+     *
+     * @param frequencies
+     *            The bin frequencies, ascending and positive
+     * @param values
+     *            The values to smooth, such as magnitudes or unwrapped phases
+     * @param numberOfBins
+     *            The number of bins to smooth, from the start of the arrays
+     * @param octaveDivider
+     *            The number of smoothing bands per octave (e.g. 3 for 1/3
+     *            octave), or zero or less for no smoothing
+     * @param smoothedValues
+     *            The array to write the smoothed values to
+     */
+    public void smooth( final double[] frequencies,
+                        final double[] values,
+                        final int numberOfBins,
+                        final int octaveDivider,
+                        final double[] smoothedValues ) {
+        if ( octaveDivider <= 0 ) {
+            if ( smoothedValues != values ) {
+                System.arraycopy( values, 0, smoothedValues, 0, numberOfBins );
+            }
+            return;
+        }
+
+        ensureBinCapacity( numberOfBins );
+        final double[] prefixSums = _prefixSums;
+
+        // Sum the values so that any run of bins can be averaged in one step.
+        prefixSums[ 0 ] = 0.0d;
+        for ( int i = 0; i < numberOfBins; i++ ) {
+            prefixSums[ i + 1 ] = prefixSums[ i ] + values[ i ];
+        }
+
+        final double halfBandwidthRatio = getHalfBandwidthRatio( octaveDivider );
+        final double inverseHalfBandwidthRatio = 1.0d / halfBandwidthRatio;
+
+        // NOTE: Both window bounds are non-decreasing as the center frequency
+        // increases, so neither index ever has to move backwards. The window
+        // always includes its own center bin, even for very coarse bins.
+        int lowerIndex = 0;
+        int upperIndex = 0;
+        for ( int i = 0; i < numberOfBins; i++ ) {
+            final double lowerFrequency = frequencies[ i ] * inverseHalfBandwidthRatio;
+            final double upperFrequency = frequencies[ i ] * halfBandwidthRatio;
+
+            while ( ( lowerIndex < i ) && ( frequencies[ lowerIndex ] < lowerFrequency ) ) {
+                lowerIndex++;
+            }
+            if ( upperIndex <= i ) {
+                upperIndex = i + 1;
+            }
+            while ( ( upperIndex < numberOfBins )
+                    && ( frequencies[ upperIndex ] <= upperFrequency ) ) {
+                upperIndex++;
+            }
+
+            smoothedValues[ i ] = ( prefixSums[ upperIndex ] - prefixSums[ lowerIndex ] )
+                    / ( upperIndex - lowerIndex );
+        }
+    }
+
+    // Make sure the prefix sums can hold the given number of bins.
+    private void ensureBinCapacity( final int numberOfBins ) {
+        if ( _prefixSums.length < ( numberOfBins + 1 ) ) {
+            _prefixSums = new double[ numberOfBins + 1 ];
+        }
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+import org.apache.commons.math3.util.FastMath;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A precomputed index from frequency ranges, such as the Frequency Range
+ * Horizontal Zoom presets, to the bins of one response layout, so that a plot
+ * can find its visible slice of a response in constant time.
+ * <p>
+ * For log-frequency axes, the index also maps each pixel column to the bins
+ * that fall within it, so that dense responses (such as 64k-point FFTs) are
+ * drawn from one min/max pair per column at any zoom. Column layouts are
+ * cached per zoom index and column count, as plots are resized far less
+ * often than they are redrawn.
+ * <p>
+ * The bin frequencies are referenced rather than copied, so must not be
+ * modified afterwards. Instances are otherwise safe to share across threads.
+ */
+public final class FrequencyBinIndex {
+
+    // The bin frequencies of the response layout, in ascending order.
+    private final double[]                            _binFrequencies;
+
+    // The number of valid bins.
+    private final int                                 _binCount;
+
+    // The frequency range of each zoom index.
+    private final double[]                            _zoomMinimumFrequencies;
+    private final double[]                            _zoomMaximumFrequencies;
+
+    // The first visible bin of each zoom index, and the one just past the
+    // last visible bin.
+    private final int[]                               _zoomStartBins;
+    private final int[]                               _zoomEndBins;
+
+    // The cached pixel column layouts, per zoom index and column count.
+    private final ConcurrentMap< Long, ColumnLayout > _columnLayouts;
+
+    /**
+     * Builds the index for a response layout.
+     *
+     * @param binFrequencies
+     *            The bin frequencies, in Hz, in ascending order
+     * @param binCount
+     *            The number of valid bins
+     * @param zoomMinimumFrequencies
+     *            The lowest visible frequency of each zoom index, in Hz
+     * @param zoomMaximumFrequencies
+     *            The highest visible frequency of each zoom index, in Hz
+     */
+    public FrequencyBinIndex( final double[] binFrequencies,
+                              final int binCount,
+                              final double[] zoomMinimumFrequencies,
+                              final double[] zoomMaximumFrequencies ) {
+        if ( ( binCount < 0 ) || ( binCount > binFrequencies.length )
+                || ( zoomMinimumFrequencies.length != zoomMaximumFrequencies.length ) ) {
+            throw new IllegalArgumentException( "Invalid response layout" ); //$NON-NLS-1$
+        }
+
+        _binFrequencies = binFrequencies;
+        _binCount = binCount;
+        _zoomMinimumFrequencies = zoomMinimumFrequencies.clone();
+        _zoomMaximumFrequencies = zoomMaximumFrequencies.clone();
+
+        final int zoomCount = _zoomMinimumFrequencies.length;
+        _zoomStartBins = new int[ zoomCount ];
+        _zoomEndBins = new int[ zoomCount ];
+        for ( int zoomIndex = 0; zoomIndex < zoomCount; zoomIndex++ ) {
+            _zoomStartBins[ zoomIndex ] = findBin( _zoomMinimumFrequencies[ zoomIndex ], false );
+            _zoomEndBins[ zoomIndex ] = findBin( _zoomMaximumFrequencies[ zoomIndex ], true );
+        }
+
+        _columnLayouts = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the first bin at or above a frequency (or, optionally, strictly
+     * above it), using a binary search over the bin frequencies.
+     *
+     * @param frequency
+     *            The frequency to look up, in Hz
+     * @param strictlyAbove
+     *            {@code true} to skip bins at exactly the given frequency
+     * @return The index of the first such bin, or the bin count if none
+     */
+    public int findBin( final double frequency, final boolean strictlyAbove ) {
+        int low = 0;
+        int high = _binCount;
+        while ( low < high ) {
+            final int middle = ( low + high ) >>> 1;
+            final double binFrequency = _binFrequencies[ middle ];
+            if ( strictlyAbove ? ( binFrequency <= frequency ) : ( binFrequency < frequency ) ) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    public int getBinCount() {
+        return _binCount;
+    }
+
+    public int getZoomCount() {
+        return _zoomStartBins.length;
+    }
+
+    public double getMinimumFrequency( final int zoomIndex ) {
+        return _zoomMinimumFrequencies[ zoomIndex ];
+    }
+
+    public double getMaximumFrequency( final int zoomIndex ) {
+        return _zoomMaximumFrequencies[ zoomIndex ];
+    }
+
+    // Get the first visible bin for a zoom index.
+    public int getStartBin( final int zoomIndex ) {
+        return _zoomStartBins[ zoomIndex ];
+    }
+
+    // Get the bin just past the last visible bin for a zoom index.
+    public int getEndBin( final int zoomIndex ) {
+        return _zoomEndBins[ zoomIndex ];
+    }
+
+    public int getVisibleBinCount( final int zoomIndex ) {
+        return _zoomEndBins[ zoomIndex ] - _zoomStartBins[ zoomIndex ];
+    }
+
+    /**
+     * Computes the min/max envelope of a response for each pixel column of a
+     * log-frequency axis spanning a zoom index's frequency range.
+     * <p>
+     * Columns that contain no bins, which is common at low frequencies, are
+     * interpolated (linearly in log frequency) at the column center from the
+     * neighbouring bins, so that sparse regions still draw as a line. Columns
+     * outside the response are set to NaN.
+     *
+     * @param zoomIndex
+     *            The zoom index that sets the axis frequency range
+     * @param columnCount
+     *            The number of pixel columns across the axis
+     * @param values
+     *            The response values, one per bin
+     * @param valueOffset
+     *            The index of the value for the first bin
+     * @param columnMinima
+     *            The output array for the minimum of each column
+     * @param columnMaxima
+     *            The output array for the maximum of each column
+     */
+    public void aggregateColumns( final int zoomIndex,
+                                  final int columnCount,
+                                  final double[] values,
+                                  final int valueOffset,
+                                  final double[] columnMinima,
+                                  final double[] columnMaxima ) {
+        if ( columnCount <= 0 ) {
+            return;
+        }
+
+        final ColumnLayout columnLayout = getColumnLayout( zoomIndex, columnCount );
+        final int[] columnStartBins = columnLayout._columnStartBins;
+        for ( int column = 0; column < columnCount; column++ ) {
+            final int startBin = columnStartBins[ column ];
+            final int endBin = columnStartBins[ column + 1 ];
+            if ( endBin > startBin ) {
+                double minimum = Double.POSITIVE_INFINITY;
+                double maximum = Double.NEGATIVE_INFINITY;
+                for ( int bin = startBin; bin < endBin; bin++ ) {
+                    final double value = values[ valueOffset + bin ];
+                    minimum = Math.min( minimum, value );
+                    maximum = Math.max( maximum, value );
+                }
+                columnMinima[ column ] = minimum;
+                columnMaxima[ column ] = maximum;
+            }
+            else if ( ( startBin > 0 ) && ( startBin < _binCount ) ) {
+                // NOTE: The column lies between two bins, whose weights for
+                // the column center were precomputed with the layout.
+                final double weight = columnLayout._interpolationWeights[ column ];
+                final double value = values[ ( valueOffset + startBin ) - 1 ]
+                        + ( weight * ( values[ valueOffset + startBin ]
+                                - values[ ( valueOffset + startBin ) - 1 ] ) );
+                columnMinima[ column ] = value;
+                columnMaxima[ column ] = value;
+            }
+            else {
+                columnMinima[ column ] = Double.NaN;
+                columnMaxima[ column ] = Double.NaN;
+            }
+        }
+    }
+
+    private ColumnLayout getColumnLayout( final int zoomIndex, final int columnCount ) {
+        final long layoutKey = ( ( long ) zoomIndex << 32 ) | columnCount;
+        return _columnLayouts.computeIfAbsent( layoutKey,
+                                               key -> makeColumnLayout( zoomIndex,
+                                                                        columnCount ) );
+    }
+
+    private ColumnLayout makeColumnLayout( final int zoomIndex, final int columnCount ) {
+        final double logMinimumFrequency = FastMath.log( _zoomMinimumFrequencies[ zoomIndex ] );
+        final double logFrequencyPerColumn = ( FastMath
+                .log( _zoomMaximumFrequencies[ zoomIndex ] ) - logMinimumFrequency ) / columnCount;
+
+        final int[] columnStartBins = new int[ columnCount + 1 ];
+        final double[] interpolationWeights = new double[ columnCount ];
+        for ( int column = 0; column <= columnCount; column++ ) {
+            // NOTE: The last boundary includes the top of the range itself.
+            columnStartBins[ column ] = ( column == columnCount )
+                ? _zoomEndBins[ zoomIndex ]
+                : findBin( FastMath.exp( logMinimumFrequency
+                        + ( column * logFrequencyPerColumn ) ), false );
+        }
+
+        for ( int column = 0; column < columnCount; column++ ) {
+            final int bin = columnStartBins[ column ];
+            if ( ( bin > 0 ) && ( bin < _binCount ) ) {
+                final double logCenterFrequency = logMinimumFrequency
+                        + ( ( column + 0.5d ) * logFrequencyPerColumn );
+                final double lowerFrequency = _binFrequencies[ bin - 1 ];
+                final double upperFrequency = _binFrequencies[ bin ];
+                interpolationWeights[ column ] = ( ( lowerFrequency > 0.0d )
+                        && ( upperFrequency > lowerFrequency ) )
+                    ? ( logCenterFrequency - FastMath.log( lowerFrequency ) )
+                            / ( FastMath.log( upperFrequency ) - FastMath.log( lowerFrequency ) )
+                    : 1.0d;
+            }
+        }
+
+        return new ColumnLayout( columnStartBins, interpolationWeights );
+    }
+
+    // The bins of each pixel column, plus interpolation weights for columns
+    // that fall between two bins.
+    private static final class ColumnLayout {
+
+        private final int[]    _columnStartBins;
+        private final double[] _interpolationWeights;
+
+        ColumnLayout( final int[] columnStartBins, final double[] interpolationWeights ) {
+            _columnStartBins = columnStartBins;
+            _interpolationWeights = interpolationWeights;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+import com.mhschmieder.jacoustics.FrequencyRange;
+import com.mhschmieder.jacoustics.RelativeBandwidth;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A headless model of a Frequency Range selection (Relative Bandwidth, Octave
+ * Range and Center Frequency), with the same normalization and validation
+ * rules as the JavaFX selectors but without any dependency on the toolkit.
+ * <p>
+ * Each model instance holds one selection and is not thread-safe, but the
+ * band tables it works from are shared and thread-safe, so separate instances
+ * (or the combination stream) may be used from as many threads as needed.
+ */
+public final class FrequencyRangeModel {
+
+    // The Center Frequency that the selectors start out with.
+    public static final double CENTER_FREQUENCY_DEFAULT = 4000.0d;
+
+    // The shared band tables to choose Center Frequencies from.
+    private final CenterFrequencyBandTables _bandTables;
+
+    // Flag for whether to use the low frequency extended range.
+    private final boolean                   _useExtendedRange;
+
+    // The current, always normalized, selection.
+    private RelativeBandwidth               _relativeBandwidth;
+    private OctaveRange                     _octaveRange;
+    private CenterFrequencyBandTable        _bandTable;
+    private int                             _centerFrequencyIndex;
+
+    public FrequencyRangeModel( final CenterFrequencyBandTables bandTables,
+                                final boolean useExtendedRange ) {
+        _bandTables = bandTables;
+        _useExtendedRange = useExtendedRange;
+
+        setFrequencyRange( RelativeBandwidth.defaultValue(),
+                           OctaveRange.FULL_SPECTRUM,
+                           CENTER_FREQUENCY_DEFAULT );
+    }
+
+    /**
+     * Returns the Octave Range to use for a Relative Bandwidth when the
+     * requested one isn't available, based on the Center Frequency.
+     *
+     * @param relativeBandwidth
+     *            The Relative Bandwidth of the bands
+     * @param centerFrequency
+     *            The Center Frequency to find the Octave Range for
+     * @param useExtendedRange
+     *            Flag for whether to use the low frequency extended range
+     * @return The default Octave Range
+     */
+    public static OctaveRange getOctaveRangeDefault( final RelativeBandwidth relativeBandwidth,
+                                                     final double centerFrequency,
+                                                     final boolean useExtendedRange ) {
+        return OctaveRange.isWideBand( relativeBandwidth )
+            ? OctaveRange.FULL_SPECTRUM
+            : OctaveRange.fromCenterFrequency( centerFrequency, useExtendedRange );
+    }
+
+    /**
+     * Returns the index of the band to select for a Center Frequency: the
+     * exact band if there is one, else the nearest band if the frequency is in
+     * the Octave Range, else the band nearest to the nominal default.
+     *
+     * @param bandTable
+     *            The band table to select from
+     * @param octaveRange
+     *            The Octave Range that the band table covers
+     * @param centerFrequency
+     *            The requested Center Frequency
+     * @param narrowBand
+     *            Flag for whether the bands are narrow band
+     * @return The index of the band to select, or -1 if the table is empty
+     */
+    public static int resolveCenterFrequencyIndex( final CenterFrequencyBandTable bandTable,
+                                                   final OctaveRange octaveRange,
+                                                   final double centerFrequency,
+                                                   final boolean narrowBand ) {
+        final int centerFrequencyIndex = bandTable.indexOf( centerFrequency );
+        if ( centerFrequencyIndex >= 0 ) {
+            return centerFrequencyIndex;
+        }
+
+        return octaveRange.containsFrequency( centerFrequency )
+            ? bandTable.nearestIndexOf( centerFrequency )
+            : bandTable.nearestIndexOf( octaveRange.getNominalCenterFrequencyDefault( narrowBand ) );
+    }
+
+    public CenterFrequencyBandTables getBandTables() {
+        return _bandTables;
+    }
+
+    public boolean isUseExtendedRange() {
+        return _useExtendedRange;
+    }
+
+    public RelativeBandwidth getRelativeBandwidth() {
+        return _relativeBandwidth;
+    }
+
+    public OctaveRange getOctaveRange() {
+        return _octaveRange;
+    }
+
+    // Get the band table that the Center Frequency is chosen from.
+    public CenterFrequencyBandTable getBandTable() {
+        return _bandTable;
+    }
+
+    // Get the index of the Center Frequency band, or -1 if there are no bands.
+    public int getCenterFrequencyIndex() {
+        return _centerFrequencyIndex;
+    }
+
+    // Get the Center Frequency, or NaN if there are no bands.
+    public double getCenterFrequency() {
+        return ( _centerFrequencyIndex >= 0 )
+            ? _bandTable.getCenterFrequency( _centerFrequencyIndex )
+            : Double.NaN;
+    }
+
+    // Get the formatted Center Frequency, or null if there are no bands.
+    public String getCenterFrequencyLabel() {
+        return ( _centerFrequencyIndex >= 0 )
+            ? _bandTable.getCenterFrequencyLabel( _centerFrequencyIndex )
+            : null;
+    }
+
+    // Get the Octave Ranges that are available for the Relative Bandwidth.
+    public List< OctaveRange > getOctaveRanges() {
+        return OctaveRange.getOctaveRanges( _relativeBandwidth, _useExtendedRange );
+    }
+
+    public FrequencyRange getFrequencyRange() {
+        return new FrequencyRange( _relativeBandwidth,
+                                   _octaveRange.getLabel(),
+                                   getCenterFrequency() );
+    }
+
+    public void setRelativeBandwidth( final RelativeBandwidth relativeBandwidth ) {
+        setFrequencyRange( relativeBandwidth, _octaveRange, getCenterFrequency() );
+    }
+
+    public void setOctaveRange( final OctaveRange octaveRange ) {
+        setFrequencyRange( _relativeBandwidth, octaveRange, getCenterFrequency() );
+    }
+
+    public void setCenterFrequency( final double centerFrequency ) {
+        setFrequencyRange( _relativeBandwidth, _octaveRange, centerFrequency );
+    }
+
+    public boolean setFrequencyRange( final FrequencyRange frequencyRange ) {
+        return setFrequencyRange( frequencyRange.getRelativeBandwidth(),
+                                  OctaveRange.fromLabel( frequencyRange.getOctaveRange() ),
+                                  frequencyRange.getCenterFrequency() );
+    }
+
+    /**
+     * Sets the selection, normalizing it the same way the selectors do: the
+     * Octave Range falls back to the one containing the Center Frequency if it
+     * isn't available for the Relative Bandwidth, and the Center Frequency
+     * snaps to a band of the resulting band table.
+     *
+     * @param relativeBandwidth
+     *            The requested Relative Bandwidth
+     * @param octaveRange
+     *            The requested Octave Range, which may be {@code null}
+     * @param centerFrequency
+     *            The requested Center Frequency
+     * @return {@code true} if the request was valid as given, {@code false}
+     *         if it had to be corrected
+     */
+    public boolean setFrequencyRange( final RelativeBandwidth relativeBandwidth,
+                                      final OctaveRange octaveRange,
+                                      final double centerFrequency ) {
+        final boolean valid = isValid( relativeBandwidth, octaveRange, centerFrequency );
+
+        _relativeBandwidth = ( relativeBandwidth != null )
+            ? relativeBandwidth
+            : RelativeBandwidth.defaultValue();
+        _octaveRange = ( ( octaveRange != null )
+                && OctaveRange.getOctaveRanges( _relativeBandwidth, _useExtendedRange )
+                        .contains( octaveRange ) )
+                            ? octaveRange
+                            : getOctaveRangeDefault( _relativeBandwidth,
+                                                     centerFrequency,
+                                                     _useExtendedRange );
+        _bandTable = _bandTables.getBandTable( _relativeBandwidth, _octaveRange );
+        _centerFrequencyIndex = resolveCenterFrequencyIndex( _bandTable,
+                                                             _octaveRange,
+                                                             centerFrequency,
+                                                             !OctaveRange
+                                                                     .isWideBand( _relativeBandwidth ) );
+
+        return valid;
+    }
+
+    /**
+     * Returns whether a combination is valid as a whole: the Octave Range is
+     * available for the Relative Bandwidth, and the Center Frequency is one of
+     * its bands.
+     *
+     * @param relativeBandwidth
+     *            The Relative Bandwidth to check
+     * @param octaveRange
+     *            The Octave Range to check
+     * @param centerFrequency
+     *            The Center Frequency to check
+     * @return {@code true} if the combination is valid
+     */
+    public boolean isValid( final RelativeBandwidth relativeBandwidth,
+                            final OctaveRange octaveRange,
+                            final double centerFrequency ) {
+        if ( ( relativeBandwidth == null ) || ( octaveRange == null )
+                || !OctaveRange.getOctaveRanges( relativeBandwidth, _useExtendedRange )
+                        .contains( octaveRange ) ) {
+            return false;
+        }
+
+        return _bandTables.getBandTable( relativeBandwidth, octaveRange )
+                .indexOf( centerFrequency ) >= 0;
+    }
+
+    /**
+     * Returns every valid combination of the given Relative Bandwidths with
+     * their available Octave Ranges and Center Frequency bands, for parameter
+     * sweeps. The stream may be made parallel, as it only reads shared tables.
+     *
+     * @param relativeBandwidths
+     *            The Relative Bandwidths to sweep
+     * @return A stream of all valid Frequency Ranges
+     */
+    public Stream< FrequencyRange > frequencyRanges( final Collection< RelativeBandwidth > relativeBandwidths ) {
+        return relativeBandwidths.stream()
+                .flatMap( relativeBandwidth -> OctaveRange
+                        .getOctaveRanges( relativeBandwidth, _useExtendedRange ).stream()
+                        .flatMap( octaveRange -> frequencyRanges( relativeBandwidth,
+                                                                  octaveRange ) ) );
+    }
+
+    // Stream every band of one Relative Bandwidth and Octave Range.
+    private Stream< FrequencyRange > frequencyRanges( final RelativeBandwidth relativeBandwidth,
+                                                      final OctaveRange octaveRange ) {
+        final CenterFrequencyBandTable bandTable = _bandTables
+                .getBandTable( relativeBandwidth, octaveRange );
+        final String sOctaveRange = octaveRange.getLabel();
+        return IntStream.range( 0, bandTable.getBandCount() )
+                .mapToObj( bandIndex -> new FrequencyRange( relativeBandwidth,
+                                                            sOctaveRange,
+                                                            bandTable.getCenterFrequency( bandIndex ) ) );
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * An enumeration of the standard frequency weightings of IEC 61672-1, with
+ * their analytic response in dB, normalized to 0 dB at 1 kHz.
+ * <p>
+ * The formulas are costly enough that they should not be evaluated per bin
+ * on every redraw; use {@link FrequencyWeightingTables} for cached tables.
+ */
+public enum FrequencyWeighting {
+    Z_WEIGHTING, A_WEIGHTING, C_WEIGHTING;
+
+    // The pole frequencies of the IEC 61672-1 weighting filters, in Hz.
+    private static final double F1_SQUARED = 20.598997d * 20.598997d;
+    private static final double F2_SQUARED = 107.65265d * 107.65265d;
+    private static final double F3_SQUARED = 737.86223d * 737.86223d;
+    private static final double F4_SQUARED = 12194.217d * 12194.217d;
+
+    // The offsets that normalize the A and C responses to 0 dB at 1 kHz.
+    private static final double A_NORMALIZATION_DB = -getAWeightingRawDb( 1000.0d );
+    private static final double C_NORMALIZATION_DB = -getCWeightingRawDb( 1000.0d );
+
+    public static FrequencyWeighting defaultValue() {
+        return Z_WEIGHTING;
+    }
+
+    /**
+     * Returns the weighting at the given frequency, which is minus infinity
+     * at 0 Hz for the A and C weightings.
+     *
+     * @param frequency
+     *            The frequency, in Hz
+     * @return The weighting, in dB
+     */
+    public double getWeightingDb( final double frequency ) {
+        switch ( this ) {
+        case A_WEIGHTING:
+            return getAWeightingRawDb( frequency ) + A_NORMALIZATION_DB;
+        case C_WEIGHTING:
+            return getCWeightingRawDb( frequency ) + C_NORMALIZATION_DB;
+        case Z_WEIGHTING:
+        default:
+            return 0.0d;
+        }
+    }
+
+    private static double getAWeightingRawDb( final double frequency ) {
+        final double fSquared = frequency * frequency;
+        final double numerator = F4_SQUARED * fSquared * fSquared;
+        final double denominator = ( fSquared + F1_SQUARED )
+                * FastMath.sqrt( ( fSquared + F2_SQUARED ) * ( fSquared + F3_SQUARED ) )
+                * ( fSquared + F4_SQUARED );
+        return 20.0d * FastMath.log10( numerator / denominator );
+    }
+
+    private static double getCWeightingRawDb( final double frequency ) {
+        final double fSquared = frequency * frequency;
+        final double numerator = F4_SQUARED * fSquared;
+        final double denominator = ( fSquared + F1_SQUARED ) * ( fSquared + F4_SQUARED );
+        return 20.0d * FastMath.log10( numerator / denominator );
+    }
+}
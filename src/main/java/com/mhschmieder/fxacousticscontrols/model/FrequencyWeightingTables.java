@@ -0,0 +1,224 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+import org.apache.commons.math3.util.FastMath;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A process-wide cache of frequency weighting tables, per Frequency Weighting
+ * and either Center Frequency band table or FFT bin layout, along with tight
+ * primitive loops to apply them to whole spectra and SPL grids.
+ * <p>
+ * The cached tables are shared, so callers must treat them as read-only.
+ * <p>
+ * Weightings are clamped to a finite floor, as the A and C weightings tend to
+ * negative infinity towards 0 Hz; this keeps the DC bin of an FFT spectrum (and
+ * any A-weighted bin below about 0.2 Hz) at a very low but finite level, so
+ * that weighted spectra can still be summed, averaged and searched for
+ * extremes.
+ */
+public final class FrequencyWeightingTables {
+
+    // The lowest weighting, in dB, which is what the DC bin gets for the A
+    // and C weightings.
+    public static final double MINIMUM_WEIGHTING_DB = -200.0d;
+
+    // The band weighting tables, per band table, compared by identity.
+    // NOTE: The shared band tables are already held for the life of the
+    // process by their table sets, so holding them here as well costs
+    // nothing; band tables that were made without being cached should not
+    // be weighted through here, as they would each add a new entry.
+    private static final ConcurrentMap< CenterFrequencyBandTable, double[][] > BAND_WEIGHTINGS =
+            new ConcurrentHashMap<>();
+
+    // The FFT bin weighting tables, per FFT size and sample rate.
+    private static final ConcurrentMap< FftLayoutKey, double[][] >             FFT_WEIGHTINGS   =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The default constructor is disabled, as this is a static cache class.
+     */
+    private FrequencyWeightingTables() {}
+
+    /**
+     * Returns the shared weightings for each band of a band table, computing
+     * them on first use.
+     *
+     * @param frequencyWeighting
+     *            The Frequency Weighting
+     * @param bandTable
+     *            The Center Frequency band table
+     * @return The weighting of each band, in dB
+     */
+    public static double[] getBandWeightings( final FrequencyWeighting frequencyWeighting,
+                                              final CenterFrequencyBandTable bandTable ) {
+        final double[][] weightings = BAND_WEIGHTINGS
+                .computeIfAbsent( bandTable,
+                                  table -> makeWeightings( table.copyCenterFrequencies() ) );
+        return weightings[ frequencyWeighting.ordinal() ];
+    }
+
+    /**
+     * Returns the shared weightings for each bin of a one-sided FFT spectrum
+     * (from DC up to and including Nyquist), computing them on first use. The
+     * DC bin is included so that bins line up with the spectrum, and gets the
+     * finite {@link #MINIMUM_WEIGHTING_DB} for the A and C weightings.
+     *
+     * @param frequencyWeighting
+     *            The Frequency Weighting
+     * @param fftSize
+     *            The FFT size, in samples
+     * @param sampleRate
+     *            The sample rate, in Hz
+     * @return The weighting of each of the (fftSize / 2 + 1) bins, in dB
+     */
+    public static double[] getFftBinWeightings( final FrequencyWeighting frequencyWeighting,
+                                                final int fftSize,
+                                                final double sampleRate ) {
+        final double[][] weightings = FFT_WEIGHTINGS
+                .computeIfAbsent( new FftLayoutKey( fftSize, sampleRate ), fftLayoutKey -> {
+                    final double[] binFrequencies = new double[ ( fftSize / 2 ) + 1 ];
+                    final double binWidth = sampleRate / fftSize;
+                    for ( int bin = 0; bin < binFrequencies.length; bin++ ) {
+                        binFrequencies[ bin ] = bin * binWidth;
+                    }
+                    return makeWeightings( binFrequencies );
+                } );
+        return weightings[ frequencyWeighting.ordinal() ];
+    }
+
+    // Drop all cached weighting tables, such as when the capture device
+    // changes; tables already handed out remain valid.
+    public static void clear() {
+        BAND_WEIGHTINGS.clear();
+        FFT_WEIGHTINGS.clear();
+    }
+
+    /**
+     * Adds per-bin weightings to a spectrum of levels in dB.
+     *
+     * @param levelsDb
+     *            The levels, in dB
+     * @param levelOffset
+     *            The index of the first level
+     * @param weightingsDb
+     *            The weightings, in dB, starting from the first bin
+     * @param numberOfBins
+     *            The number of bins to weight
+     * @param weightedLevelsDb
+     *            The array to write the weighted levels to, which may be the
+     *            same as the levels
+     * @param weightedLevelOffset
+     *            The index of the first weighted level
+     */
+    public static void applyWeightings( final double[] levelsDb,
+                                        final int levelOffset,
+                                        final double[] weightingsDb,
+                                        final int numberOfBins,
+                                        final double[] weightedLevelsDb,
+                                        final int weightedLevelOffset ) {
+        for ( int i = 0; i < numberOfBins; i++ ) {
+            weightedLevelsDb[ weightedLevelOffset + i ] = levelsDb[ levelOffset + i ]
+                    + weightingsDb[ i ];
+        }
+    }
+
+    /**
+     * Adds a single weighting to a run of SPL values in dB, such as an SPL grid
+     * predicted at one Center Frequency.
+     *
+     * @param splValues
+     *            The SPL values, in dB, which are weighted in place
+     * @param splOffset
+     *            The index of the first SPL value
+     * @param numberOfValues
+     *            The number of SPL values to weight
+     * @param weightingDb
+     *            The weighting, in dB
+     */
+    public static void applyWeighting( final double[] splValues,
+                                       final int splOffset,
+                                       final int numberOfValues,
+                                       final double weightingDb ) {
+        for ( int i = splOffset, end = splOffset + numberOfValues; i < end; i++ ) {
+            splValues[ i ] += weightingDb;
+        }
+    }
+
+    private static double[][] makeWeightings( final double[] frequencies ) {
+        final FrequencyWeighting[] frequencyWeightings = FrequencyWeighting.values();
+        final double[][] weightings = new double[ frequencyWeightings.length ][];
+        for ( final FrequencyWeighting frequencyWeighting : frequencyWeightings ) {
+            final double[] weightingsDb = new double[ frequencies.length ];
+            for ( int i = 0; i < frequencies.length; i++ ) {
+                weightingsDb[ i ] = FastMath.max( MINIMUM_WEIGHTING_DB,
+                                                  frequencyWeighting
+                                                          .getWeightingDb( frequencies[ i ] ) );
+            }
+            weightings[ frequencyWeighting.ordinal() ] = weightingsDb;
+        }
+        return weightings;
+    }
+
+    // Key for an FFT bin layout, by FFT size and sample rate.
+    private static final class FftLayoutKey {
+
+        private final int    _fftSize;
+        private final double _sampleRate;
+
+        FftLayoutKey( final int fftSize, final double sampleRate ) {
+            _fftSize = fftSize;
+            _sampleRate = sampleRate;
+        }
+
+        @Override
+        public boolean equals( final Object other ) {
+            if ( this == other ) {
+                return true;
+            }
+            if ( !( other instanceof FftLayoutKey ) ) {
+                return false;
+            }
+
+            final FftLayoutKey otherKey = ( FftLayoutKey ) other;
+            return ( _fftSize == otherKey._fftSize )
+                    && ( Double.compare( _sampleRate, otherKey._sampleRate ) == 0 );
+        }
+
+        @Override
+        public int hashCode() {
+            return ( 31 * _fftSize ) + Double.hashCode( _sampleRate );
+        }
+    }
+}
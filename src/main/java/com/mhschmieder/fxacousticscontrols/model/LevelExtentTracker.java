@@ -0,0 +1,178 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * A running tracker of the level extents of a set of traces, per visible
+ * frequency band (such as each Frequency Range Horizontal Zoom preset), for
+ * fitting the vertical scale to the data.
+ * <p>
+ * Each trace is scanned once when it is added, for its extents in every band;
+ * after that, the extents of all traces are kept in sorted multisets, so that
+ * adding or removing a trace costs O(bands * log(traces)) and querying the
+ * overall extents of a band costs O(log(traces)), without ever rescanning the
+ * data.
+ * <p>
+ * This class is not thread-safe; it is meant to be used from the JavaFX
+ * Application Thread, alongside the plot it fits.
+ */
+public final class LevelExtentTracker {
+
+    // The bin index that defines the bands, which all traces must share.
+    private final FrequencyBinIndex                       _frequencyBinIndex;
+
+    // The extents of each trace, per band, as {minimum, maximum} in dB; bands
+    // where a trace has no finite levels hold NaN.
+    private final Map< String, double[][] >               _traceExtents;
+
+    // The multisets of trace minima and maxima, per band, as counts per level.
+    private final List< NavigableMap< Double, Integer > > _bandMinima;
+    private final List< NavigableMap< Double, Integer > > _bandMaxima;
+
+    public LevelExtentTracker( final FrequencyBinIndex frequencyBinIndex ) {
+        _frequencyBinIndex = frequencyBinIndex;
+        _traceExtents = new HashMap<>();
+
+        final int zoomCount = frequencyBinIndex.getZoomCount();
+        _bandMinima = new ArrayList<>( zoomCount );
+        _bandMaxima = new ArrayList<>( zoomCount );
+        for ( int zoomIndex = 0; zoomIndex < zoomCount; zoomIndex++ ) {
+            _bandMinima.add( new TreeMap<>() );
+            _bandMaxima.add( new TreeMap<>() );
+        }
+    }
+
+    public FrequencyBinIndex getFrequencyBinIndex() {
+        return _frequencyBinIndex;
+    }
+
+    public int getTraceCount() {
+        return _traceExtents.size();
+    }
+
+    public boolean containsTrace( final String traceId ) {
+        return _traceExtents.containsKey( traceId );
+    }
+
+    /**
+     * Adds a trace, or replaces its levels if it is already tracked, scanning
+     * only this trace's levels once per band.
+     *
+     * @param traceId
+     *            The ID of the trace
+     * @param levelsDb
+     *            The trace levels, in dB, one per bin of the bin index
+     */
+    public void putTrace( final String traceId, final double[] levelsDb ) {
+        removeTrace( traceId );
+
+        final int zoomCount = _bandMinima.size();
+        final double[][] extents = new double[ zoomCount ][];
+        for ( int zoomIndex = 0; zoomIndex < zoomCount; zoomIndex++ ) {
+            final int endBin = Math.min( _frequencyBinIndex.getEndBin( zoomIndex ), levelsDb.length );
+            double minimum = Double.POSITIVE_INFINITY;
+            double maximum = Double.NEGATIVE_INFINITY;
+            for ( int bin = _frequencyBinIndex.getStartBin( zoomIndex ); bin < endBin; bin++ ) {
+                // NOTE: Silent bins (-Infinity dB) and gaps (NaN) would
+                // otherwise dominate the fit, so only finite levels count.
+                final double level = levelsDb[ bin ];
+                if ( Double.isFinite( level ) ) {
+                    minimum = Math.min( minimum, level );
+                    maximum = Math.max( maximum, level );
+                }
+            }
+
+            if ( minimum <= maximum ) {
+                extents[ zoomIndex ] = new double[] { minimum, maximum };
+                increment( _bandMinima.get( zoomIndex ), minimum );
+                increment( _bandMaxima.get( zoomIndex ), maximum );
+            }
+            else {
+                extents[ zoomIndex ] = new double[] { Double.NaN, Double.NaN };
+            }
+        }
+
+        _traceExtents.put( traceId, extents );
+    }
+
+    // Stop tracking a trace; returns whether it was tracked at all.
+    public boolean removeTrace( final String traceId ) {
+        final double[][] extents = _traceExtents.remove( traceId );
+        if ( extents == null ) {
+            return false;
+        }
+
+        for ( int zoomIndex = 0; zoomIndex < extents.length; zoomIndex++ ) {
+            if ( !Double.isNaN( extents[ zoomIndex ][ 0 ] ) ) {
+                decrement( _bandMinima.get( zoomIndex ), extents[ zoomIndex ][ 0 ] );
+                decrement( _bandMaxima.get( zoomIndex ), extents[ zoomIndex ][ 1 ] );
+            }
+        }
+        return true;
+    }
+
+    public void clear() {
+        _traceExtents.clear();
+        for ( int zoomIndex = 0; zoomIndex < _bandMinima.size(); zoomIndex++ ) {
+            _bandMinima.get( zoomIndex ).clear();
+            _bandMaxima.get( zoomIndex ).clear();
+        }
+    }
+
+    // Get the lowest level of all traces in a band, or NaN if there is none.
+    public double getMinimumDb( final int zoomIndex ) {
+        final NavigableMap< Double, Integer > minima = _bandMinima.get( zoomIndex );
+        return minima.isEmpty() ? Double.NaN : minima.firstKey();
+    }
+
+    // Get the highest level of all traces in a band, or NaN if there is none.
+    public double getMaximumDb( final int zoomIndex ) {
+        final NavigableMap< Double, Integer > maxima = _bandMaxima.get( zoomIndex );
+        return maxima.isEmpty() ? Double.NaN : maxima.lastKey();
+    }
+
+    private static void increment( final NavigableMap< Double, Integer > multiset,
+                                   final double level ) {
+        multiset.merge( level, 1, Integer::sum );
+    }
+
+    private static void decrement( final NavigableMap< Double, Integer > multiset,
+                                   final double level ) {
+        multiset.computeIfPresent( level, ( key, count ) -> ( count > 1 ) ? count - 1 : null );
+    }
+}
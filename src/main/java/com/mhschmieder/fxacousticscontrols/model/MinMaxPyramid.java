@@ -0,0 +1,276 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+/**
+ * A multi-resolution min/max pyramid over time-domain data such as impulse
+ * responses, so that a plot can be drawn in time proportional to its number
+ * of pixel columns rather than its number of samples.
+ * <p>
+ * Level zero is the raw data; each further level halves the resolution by
+ * keeping the minimum and maximum of each pair of blocks in the level below.
+ * The pyramid is built once per capture, in O(N) time and about 2N floats of
+ * extra storage, after which any time window (such as one of the Analysis
+ * Time zoom windows) is drawn from the coarsest level whose blocks are no
+ * wider than a pixel column, which needs at most three blocks per column.
+ * <p>
+ * Instances are immutable once built, and so are safe to share across threads.
+ */
+public final class MinMaxPyramid {
+
+    // The raw samples, which are level zero of the pyramid.
+    private final double[]   _samples;
+
+    // The number of raw samples.
+    private final int        _sampleCount;
+
+    // The sample rate, for converting times to sample indices.
+    private final double     _sampleRate;
+
+    // The block minima and maxima for levels one and up, indexed by level - 1.
+    private final float[][]  _levelMinima;
+    private final float[][]  _levelMaxima;
+
+    /**
+     * Builds the pyramid for a capture. The samples are referenced rather
+     * than copied, so must not be modified afterwards.
+     *
+     * @param samples
+     *            The raw time-domain samples
+     * @param sampleCount
+     *            The number of valid samples
+     * @param sampleRate
+     *            The sample rate, in Hz
+     */
+    public MinMaxPyramid( final double[] samples,
+                          final int sampleCount,
+                          final double sampleRate ) {
+        if ( ( sampleCount < 0 ) || ( sampleCount > samples.length ) ) {
+            throw new IllegalArgumentException( "Invalid sample count" ); //$NON-NLS-1$
+        }
+        _samples = samples;
+        _sampleCount = sampleCount;
+        _sampleRate = sampleRate;
+
+        int levelCount = 0;
+        for ( int length = sampleCount; length > 1; length = ( length + 1 ) >>> 1 ) {
+            levelCount++;
+        }
+        _levelMinima = new float[ levelCount ][];
+        _levelMaxima = new float[ levelCount ][];
+
+        for ( int level = 1; level <= levelCount; level++ ) {
+            buildLevel( level );
+        }
+    }
+
+    private void buildLevel( final int level ) {
+        final int previousLength = getLevelLength( level - 1 );
+        final int length = ( previousLength + 1 ) >>> 1;
+        final float[] minima = new float[ length ];
+        final float[] maxima = new float[ length ];
+
+        if ( level == 1 ) {
+            for ( int i = 0; i < length; i++ ) {
+                final int j = i << 1;
+                final double a = _samples[ j ];
+                final double b = ( ( j + 1 ) < previousLength ) ? _samples[ j + 1 ] : a;
+                minima[ i ] = ( float ) Math.min( a, b );
+                maxima[ i ] = ( float ) Math.max( a, b );
+            }
+        }
+        else {
+            final float[] previousMinima = _levelMinima[ level - 2 ];
+            final float[] previousMaxima = _levelMaxima[ level - 2 ];
+            for ( int i = 0; i < length; i++ ) {
+                final int j = i << 1;
+                final int k = ( ( j + 1 ) < previousLength ) ? j + 1 : j;
+                minima[ i ] = Math.min( previousMinima[ j ], previousMinima[ k ] );
+                maxima[ i ] = Math.max( previousMaxima[ j ], previousMaxima[ k ] );
+            }
+        }
+
+        _levelMinima[ level - 1 ] = minima;
+        _levelMaxima[ level - 1 ] = maxima;
+    }
+
+    public int getSampleCount() {
+        return _sampleCount;
+    }
+
+    public double getSampleRate() {
+        return _sampleRate;
+    }
+
+    // Get the number of levels, including the raw samples at level zero.
+    public int getLevelCount() {
+        return _levelMinima.length + 1;
+    }
+
+    // Get the number of blocks in a level.
+    public int getLevelLength( final int level ) {
+        return ( level == 0 ) ? _sampleCount : _levelMinima[ level - 1 ].length;
+    }
+
+    /**
+     * Returns the coarsest level whose blocks are no wider than the given
+     * number of samples per pixel column.
+     *
+     * @param samplesPerColumn
+     *            The number of samples covered by each pixel column
+     * @return The pyramid level to draw from
+     */
+    public int getLevelForSamplesPerColumn( final double samplesPerColumn ) {
+        if ( !( samplesPerColumn >= 2.0d ) ) {
+            return 0;
+        }
+        final int level = 31 - Integer.numberOfLeadingZeros( ( int ) Math
+                .min( samplesPerColumn, Integer.MAX_VALUE ) );
+        return Math.min( level, _levelMinima.length );
+    }
+
+    /**
+     * Returns the level to draw from for a symmetric Analysis Time window,
+     * such as the one for each Analysis Time zoom choice.
+     *
+     * @param analysisTimeEdgeMs
+     *            The edge of the time window, in ms either side of time zero
+     * @param columnCount
+     *            The number of pixel columns the window is drawn across
+     * @return The pyramid level to draw from
+     */
+    public int getLevelForAnalysisTime( final double analysisTimeEdgeMs,
+                                        final int columnCount ) {
+        final double windowSampleCount = 2.0d * analysisTimeEdgeMs * 1.0e-3d * _sampleRate;
+        return getLevelForSamplesPerColumn( windowSampleCount / Math.max( 1, columnCount ) );
+    }
+
+    /**
+     * Computes the per-column min/max envelope of a symmetric Analysis Time
+     * window, which is what a zoom change or repaint of an impulse-response
+     * plot needs. Columns that fall outside the capture are set to NaN.
+     *
+     * @param analysisTimeEdgeMs
+     *            The edge of the time window, in ms either side of time zero
+     * @param zeroTimeSampleIndex
+     *            The index of the sample at time zero
+     * @param columnCount
+     *            The number of pixel columns the window is drawn across
+     * @param columnMinima
+     *            The output array for the minimum of each column
+     * @param columnMaxima
+     *            The output array for the maximum of each column
+     */
+    public void getAnalysisTimeEnvelope( final double analysisTimeEdgeMs,
+                                         final double zeroTimeSampleIndex,
+                                         final int columnCount,
+                                         final float[] columnMinima,
+                                         final float[] columnMaxima ) {
+        final double edgeSampleCount = analysisTimeEdgeMs * 1.0e-3d * _sampleRate;
+        getEnvelope( zeroTimeSampleIndex - edgeSampleCount,
+                     zeroTimeSampleIndex + edgeSampleCount,
+                     columnCount,
+                     columnMinima,
+                     columnMaxima );
+    }
+
+    /**
+     * Computes the per-column min/max envelope of an arbitrary sample range.
+     * Columns that fall outside the capture are set to NaN.
+     * <p>
+     * As the pyramid blocks don't line up with the column boundaries, a block
+     * that straddles a boundary counts towards both columns, so the envelope
+     * is conservative (never narrower than the exact one) by at most one block.
+     *
+     * @param startSample
+     *            The (fractional) sample index at the left edge of the plot
+     * @param endSample
+     *            The (fractional) sample index at the right edge of the plot
+     * @param columnCount
+     *            The number of pixel columns the range is drawn across
+     * @param columnMinima
+     *            The output array for the minimum of each column
+     * @param columnMaxima
+     *            The output array for the maximum of each column
+     */
+    public void getEnvelope( final double startSample,
+                             final double endSample,
+                             final int columnCount,
+                             final float[] columnMinima,
+                             final float[] columnMaxima ) {
+        if ( columnCount <= 0 ) {
+            return;
+        }
+
+        final double samplesPerColumn = ( endSample - startSample ) / columnCount;
+        final int level = getLevelForSamplesPerColumn( samplesPerColumn );
+        final int levelLength = getLevelLength( level );
+        final double blocksPerSample = 1.0d / ( 1 << level );
+
+        for ( int column = 0; column < columnCount; column++ ) {
+            final double columnStart = startSample + ( column * samplesPerColumn );
+            final double columnEnd = columnStart + samplesPerColumn;
+
+            // NOTE: When zoomed in beyond the sample resolution, each column
+            // still shows the sample it falls in.
+            final long firstBlock = ( long ) Math.floor( columnStart * blocksPerSample );
+            final long lastBlock = Math.max( firstBlock,
+                                             ( long ) Math.ceil( columnEnd * blocksPerSample ) - 1L );
+            if ( ( lastBlock < 0L ) || ( firstBlock >= levelLength ) ) {
+                columnMinima[ column ] = Float.NaN;
+                columnMaxima[ column ] = Float.NaN;
+                continue;
+            }
+
+            final int from = ( int ) Math.max( 0L, firstBlock );
+            final int to = ( int ) Math.min( levelLength - 1L, lastBlock );
+            float minimum = Float.POSITIVE_INFINITY;
+            float maximum = Float.NEGATIVE_INFINITY;
+            if ( level == 0 ) {
+                for ( int i = from; i <= to; i++ ) {
+                    final float sample = ( float ) _samples[ i ];
+                    minimum = Math.min( minimum, sample );
+                    maximum = Math.max( maximum, sample );
+                }
+            }
+            else {
+                final float[] minima = _levelMinima[ level - 1 ];
+                final float[] maxima = _levelMaxima[ level - 1 ];
+                for ( int i = from; i <= to; i++ ) {
+                    minimum = Math.min( minimum, minima[ i ] );
+                    maximum = Math.max( maximum, maxima[ i ] );
+                }
+            }
+            columnMinima[ column ] = minimum;
+            columnMaxima[ column ] = maximum;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+import com.mhschmieder.jacoustics.FrequencyRange;
+import com.mhschmieder.jacoustics.RelativeBandwidth;
+import org.apache.commons.math3.util.FastMath;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An enumeration of the Octave Ranges that Center Frequencies are grouped by,
+ * with precomputed nominal bounds and octave offsets so that the update path
+ * never has to parse the display labels.
+ * <p>
+ * The labels are kept for display purposes only, and match the legacy string
+ * values so that they can still be converted at the boundaries.
+ */
+public enum OctaveRange {
+    FULL_SPECTRUM( FrequencyRange.OCTAVE_RANGE_WIDE_DEFAULT, -1, 10.0d, 20000.0d ),
+    OCTAVE_10_HZ( "10 Hz to 20 Hz", 0, 10.0d, 20.0d ), //$NON-NLS-1$
+    OCTAVE_20_HZ( "20 Hz to 40 Hz", 1, 20.0d, 40.0d ), //$NON-NLS-1$
+    OCTAVE_40_HZ( "40 Hz to 80 Hz", 2, 40.0d, 80.0d ), //$NON-NLS-1$
+    OCTAVE_80_HZ( "80 Hz to 160 Hz", 3, 80.0d, 160.0d ), //$NON-NLS-1$
+    OCTAVE_160_HZ( "160 Hz to 315 Hz", 4, 160.0d, 315.0d ), //$NON-NLS-1$
+    OCTAVE_315_HZ( "315 Hz to 630 Hz", 5, 315.0d, 630.0d ), //$NON-NLS-1$
+    OCTAVE_630_HZ( "630 Hz to 1.25 kHz", 6, 630.0d, 1250.0d ), //$NON-NLS-1$
+    OCTAVE_1250_HZ( "1.25 kHz to 2.5 kHz", 7, 1250.0d, 2500.0d ), //$NON-NLS-1$
+    OCTAVE_2500_HZ( "2.5 kHz to 5 kHz", 8, 2500.0d, 5000.0d ), //$NON-NLS-1$
+    OCTAVE_5000_HZ( "5 kHz to 10 kHz", 9, 5000.0d, 10000.0d ), //$NON-NLS-1$
+    OCTAVE_10_KHZ( "10 kHz to 20 kHz", 10, 10000.0d, 20000.0d ); //$NON-NLS-1$
+
+    // Reciprocal of the natural log of two, for octave arithmetic.
+    private static final double                    INVERSE_LOG_2 = 1.0d / FastMath.log( 2.0d );
+
+    // The narrow Octave Ranges, indexed by their octave offset from 10 Hz.
+    private static final OctaveRange[]             NARROW_BY_OCTAVE_OFFSET;
+
+    // The Octave Ranges that are available for each kind of Relative Bandwidth.
+    private static final List< OctaveRange >       OCTAVE_RANGES_WIDE;
+    private static final List< OctaveRange >       OCTAVE_RANGES_NARROW;
+    private static final List< OctaveRange >       OCTAVE_RANGES_NARROW_EXTENDED;
+
+    // Reverse lookup from the display labels, for legacy string values only.
+    private static final Map< String, OctaveRange > BY_LABEL;
+
+    static {
+        final OctaveRange[] octaveRanges = values();
+        NARROW_BY_OCTAVE_OFFSET = Arrays.copyOfRange( octaveRanges, 1, octaveRanges.length );
+        OCTAVE_RANGES_WIDE = Collections.singletonList( FULL_SPECTRUM );
+        OCTAVE_RANGES_NARROW_EXTENDED = Collections
+                .unmodifiableList( Arrays.asList( NARROW_BY_OCTAVE_OFFSET ) );
+        OCTAVE_RANGES_NARROW = OCTAVE_RANGES_NARROW_EXTENDED
+                .subList( 1, OCTAVE_RANGES_NARROW_EXTENDED.size() );
+
+        BY_LABEL = new HashMap<>( 2 * octaveRanges.length );
+        for ( final OctaveRange octaveRange : octaveRanges ) {
+            BY_LABEL.put( octaveRange.getLabel(), octaveRange );
+        }
+    }
+
+    // The display label for this Octave Range.
+    private final String _label;
+
+    // The number of octaves above 10 Hz, or -1 for the full spectrum.
+    private final int    _octaveOffsetFrom10Hz;
+
+    // The nominal lower and upper bounds, as shown in the label.
+    private final double _lowerFrequency;
+    private final double _upperFrequency;
+
+    // The default Center Frequencies for wide band and narrow band lists.
+    private final double _centerFrequencyDefaultWideBand;
+    private final double _centerFrequencyDefaultNarrowBand;
+
+    OctaveRange( final String label,
+                 final int octaveOffsetFrom10Hz,
+                 final double lowerFrequency,
+                 final double upperFrequency ) {
+        _label = label;
+        _octaveOffsetFrom10Hz = octaveOffsetFrom10Hz;
+        _lowerFrequency = lowerFrequency;
+        _upperFrequency = upperFrequency;
+
+        _centerFrequencyDefaultWideBand = FrequencyRange
+                .getNominalCenterFrequencyDefaultForOctaveRange( label, false );
+        _centerFrequencyDefaultNarrowBand = FrequencyRange
+                .getNominalCenterFrequencyDefaultForOctaveRange( label, true );
+    }
+
+    public static OctaveRange defaultValue() {
+        return fromLabel( FrequencyRange.OCTAVE_RANGE_NARROW_DEFAULT );
+    }
+
+    /**
+     * Returns the Octave Range for a legacy display label, or {@code null} if
+     * the label does not match any Octave Range.
+     *
+     * @param label
+     *            The display label of the Octave Range
+     * @return The matching Octave Range, or {@code null} if not found
+     */
+    public static OctaveRange fromLabel( final String label ) {
+        return ( label != null ) ? BY_LABEL.get( label ) : null;
+    }
+
+    /**
+     * Returns the narrow Octave Range for the given octave offset from 10 Hz,
+     * or {@code null} if the offset is out of range.
+     *
+     * @param octaveOffsetFrom10Hz
+     *            The number of octaves above 10 Hz
+     * @return The matching narrow Octave Range, or {@code null}
+     */
+    public static OctaveRange fromOctaveOffset( final int octaveOffsetFrom10Hz ) {
+        return ( ( octaveOffsetFrom10Hz >= 0 )
+                && ( octaveOffsetFrom10Hz < NARROW_BY_OCTAVE_OFFSET.length ) )
+                    ? NARROW_BY_OCTAVE_OFFSET[ octaveOffsetFrom10Hz ]
+                    : null;
+    }
+
+    /**
+     * Returns the narrow Octave Range that contains the given Center Frequency,
+     * clamped to the lowest or highest available Octave Range when out of range.
+     * <p>
+     * The octave is estimated in constant time from the base 2 logarithm of the
+     * frequency relative to 10 Hz, and then corrected by at most one octave to
+     * honor the nominal bounds, which drift from exact octaves by up to 2.4%.
+     *
+     * @param centerFrequency
+     *            The Center Frequency to look up
+     * @param useExtendedRange
+     *            Flag for whether the 10 Hz to 20 Hz Octave Range is available
+     * @return The narrow Octave Range containing the Center Frequency
+     */
+    public static OctaveRange fromCenterFrequency( final double centerFrequency,
+                                                   final boolean useExtendedRange ) {
+        final int lowestOctaveOffset = useExtendedRange ? 0 : 1;
+        final int highestOctaveOffset = NARROW_BY_OCTAVE_OFFSET.length - 1;
+        if ( !( centerFrequency > 0.0d ) ) {
+            return NARROW_BY_OCTAVE_OFFSET[ lowestOctaveOffset ];
+        }
+
+        final double octavePosition = FastMath.log( centerFrequency * 0.1d ) * INVERSE_LOG_2;
+        int octaveOffset = ( int ) FastMath.floor( FastMath
+                .max( lowestOctaveOffset, FastMath.min( octavePosition, highestOctaveOffset ) ) );
+        if ( ( octaveOffset < highestOctaveOffset ) && ( centerFrequency >= NARROW_BY_OCTAVE_OFFSET[
+                octaveOffset + 1 ]._lowerFrequency ) ) {
+            octaveOffset++;
+        }
+        else if ( ( octaveOffset > lowestOctaveOffset ) && ( centerFrequency < NARROW_BY_OCTAVE_OFFSET[
+                octaveOffset ]._lowerFrequency ) ) {
+            octaveOffset--;
+        }
+
+        return NARROW_BY_OCTAVE_OFFSET[ octaveOffset ];
+    }
+
+    /**
+     * Returns the Octave Ranges that are available for the given Relative
+     * Bandwidth, which is the single full spectrum range for the wide band
+     * Relative Bandwidths.
+     *
+     * @param relativeBandwidth
+     *            The Relative Bandwidth to get the Octave Ranges for
+     * @param useExtendedRange
+     *            Flag for whether to include the 10 Hz to 20 Hz Octave Range
+     * @return An unmodifiable list of the available Octave Ranges
+     */
+    public static List< OctaveRange > getOctaveRanges( final RelativeBandwidth relativeBandwidth,
+                                                       final boolean useExtendedRange ) {
+        return isWideBand( relativeBandwidth )
+            ? OCTAVE_RANGES_WIDE
+            : useExtendedRange ? OCTAVE_RANGES_NARROW_EXTENDED : OCTAVE_RANGES_NARROW;
+    }
+
+    // Full octave and third octave bands span the full spectrum in one list.
+    public static boolean isWideBand( final RelativeBandwidth relativeBandwidth ) {
+        return RelativeBandwidth.ONE_OCTAVE.equals( relativeBandwidth )
+                || RelativeBandwidth.THIRD_OCTAVE.equals( relativeBandwidth );
+    }
+
+    public String getLabel() {
+        return _label;
+    }
+
+    public int getOctaveOffsetFrom10Hz() {
+        return _octaveOffsetFrom10Hz;
+    }
+
+    public double getLowerFrequency() {
+        return _lowerFrequency;
+    }
+
+    public double getUpperFrequency() {
+        return _upperFrequency;
+    }
+
+    public boolean isFullSpectrum() {
+        return this == FULL_SPECTRUM;
+    }
+
+    // Only the top octave inserts the 1 kHz steps up to 20 kHz.
+    public boolean hasHighFrequencySteps() {
+        return this == OCTAVE_10_KHZ;
+    }
+
+    // Bounds are inclusive at both ends, as that is how the labels read.
+    public boolean containsFrequency( final double frequency ) {
+        return ( frequency >= _lowerFrequency ) && ( frequency <= _upperFrequency );
+    }
+
+    public double getNominalCenterFrequencyDefault( final boolean narrowBand ) {
+        return narrowBand ? _centerFrequencyDefaultNarrowBand : _centerFrequencyDefaultWideBand;
+    }
+
+    @Override
+    public String toString() {
+        return _label;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+/**
+ * An SPL grid quantized to one unsigned 16-bit level per cell, within the
+ * active SPL range, so that changing the SPL Palette Resolution only needs a
+ * different palette table rather than a pass over the raw SPL values.
+ * <p>
+ * Levels are the 1/256 dB steps above the bottom of the SPL range that the
+ * palette tables are built on, so every color band of every SPL Palette
+ * Resolution starts on a level boundary, and recoloring from the levels gives
+ * exactly the colors of mapping the raw SPL values directly. Values outside the
+ * range are clamped to the bottom or top level. A change of SPL range or top
+ * re-quantizes from the raw values in one tight pass.
+ * <p>
+ * NOTE: Ranges above 255 dB do not fit in 16 bits, so values in the excess
+ * at the top of such ranges are clamped to the highest level; this is far
+ * beyond the limits of the SPL Range spinner.
+ * <p>
+ * This class is not thread-safe, except that separate tiles may be quantized
+ * from separate threads.
+ */
+public final class QuantizedSplGrid {
+
+    // The highest level that fits in an unsigned 16-bit cell.
+    public static final int MAXIMUM_LEVEL = 0xFFFF;
+
+    // The grid dimensions, in cells.
+    private final int     _gridWidth;
+    private final int     _gridHeight;
+
+    // The unsigned quantization level of each cell, in row-major order.
+    private final short[] _levels;
+
+    // The SPL value at the top of the range, and the range, in dB.
+    private double        _splTopDb;
+    private int           _splRangeDb;
+
+    public QuantizedSplGrid( final int gridWidth,
+                             final int gridHeight,
+                             final double splTopDb,
+                             final int splRangeDb ) {
+        _gridWidth = gridWidth;
+        _gridHeight = gridHeight;
+        _levels = new short[ gridWidth * gridHeight ];
+        _splTopDb = splTopDb;
+        _splRangeDb = splRangeDb;
+    }
+
+    public int getGridWidth() {
+        return _gridWidth;
+    }
+
+    public int getGridHeight() {
+        return _gridHeight;
+    }
+
+    public double getSplTopDb() {
+        return _splTopDb;
+    }
+
+    public int getSplRangeDb() {
+        return _splRangeDb;
+    }
+
+    // Get the shared level buffer; levels are unsigned, so mask with 0xFFFF.
+    public short[] getLevels() {
+        return _levels;
+    }
+
+    /**
+     * Changes the SPL range that the levels are spread over. The levels are
+     * then stale until re-quantized from the raw SPL values.
+     *
+     * @param splTopDb
+     *            The SPL value at the top of the range, in dB
+     * @param splRangeDb
+     *            The SPL range, in dB
+     */
+    public void setSplRange( final double splTopDb, final int splRangeDb ) {
+        _splTopDb = splTopDb;
+        _splRangeDb = splRangeDb;
+    }
+
+    /**
+     * Quantizes a tile of raw SPL values into the level buffer.
+     *
+     * @param splValues
+     *            The raw SPL values, in dB
+     * @param splOffset
+     *            The index of the tile's first SPL value
+     * @param splScanlineStride
+     *            The distance between rows of the tile in the SPL values
+     * @param x
+     *            The leftmost grid column of the tile
+     * @param y
+     *            The topmost grid row of the tile
+     * @param width
+     *            The tile width, in cells
+     * @param height
+     *            The tile height, in cells
+     */
+    public void quantizeTile( final double[] splValues,
+                              final int splOffset,
+                              final int splScanlineStride,
+                              final int x,
+                              final int y,
+                              final int width,
+                              final int height ) {
+        for ( int row = 0; row < height; row++ ) {
+            quantize( splValues,
+                      splOffset + ( row * splScanlineStride ),
+                      ( ( y + row ) * _gridWidth ) + x,
+                      width );
+        }
+    }
+
+    // Re-quantize the whole grid from raw SPL values in grid order, such as
+    // after a change of SPL range.
+    public void quantizeAll( final double[] splValues ) {
+        quantize( splValues, 0, 0, _levels.length );
+    }
+
+    /**
+     * Maps a run of levels to packed ARGB colors via an SPL palette table,
+     * which must be for the same SPL range.
+     *
+     * @param splPaletteTable
+     *            The palette table to map levels with
+     * @param levelOffset
+     *            The index of the first level to map
+     * @param numberOfCells
+     *            The number of levels to map
+     * @param argbValues
+     *            The array to write the packed ARGB colors to
+     * @param argbOffset
+     *            The index of the first color to write
+     */
+    public void toArgb( final SplPaletteTable splPaletteTable,
+                        final int levelOffset,
+                        final int numberOfCells,
+                        final int[] argbValues,
+                        final int argbOffset ) {
+        splPaletteTable.toArgb( _levels, levelOffset, numberOfCells, argbValues, argbOffset );
+    }
+
+    private void quantize( final double[] splValues,
+                           final int splOffset,
+                           final int levelOffset,
+                           final int numberOfCells ) {
+        // NOTE: The loop body is a scale and a clamp with no branches, which
+        // keeps it simple enough for the JIT to unroll and vectorize. The level
+        // is computed exactly as in SplPaletteTable.toLevel(), so that the two
+        // always agree.
+        final short[] levels = _levels;
+        final double splBottomDb = _splTopDb - _splRangeDb;
+        final int maximumLevel = Math.min( MAXIMUM_LEVEL,
+                                           ( _splRangeDb * SplPaletteTable.LEVELS_PER_DB ) - 1 );
+        for ( int i = 0; i < numberOfCells; i++ ) {
+            final int level = ( int ) ( ( splValues[ splOffset + i ] - splBottomDb )
+                    * SplPaletteTable.LEVELS_PER_DB );
+            levels[ levelOffset + i ] = ( short ) Math.max( 0, Math.min( maximumLevel, level ) );
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+/**
+ * An immutable smoothed frequency response, as magnitude (in dB) and optional
+ * phase arrays that share the frequency bins of the raw response they came
+ * from.
+ * <p>
+ * The arrays are not copied, so that cached responses cost nothing to hand
+ * out; callers must treat them as read-only.
+ */
+public final class SmoothedResponse {
+
+    // The smoothed magnitudes in dB, and phases (or null if there are none).
+    private final double[] _magnitudes;
+    private final double[] _phases;
+
+    public SmoothedResponse( final double[] magnitudes, final double[] phases ) {
+        _magnitudes = magnitudes;
+        _phases = phases;
+    }
+
+    public double[] getMagnitudes() {
+        return _magnitudes;
+    }
+
+    public double[] getPhases() {
+        return _phases;
+    }
+
+    public int getBinCount() {
+        return _magnitudes.length;
+    }
+
+    // Get the approximate memory footprint of the arrays, for cache sizing.
+    public long getByteSize() {
+        final long numberOfValues = _magnitudes.length
+                + ( ( _phases != null ) ? _phases.length : 0 );
+        return Double.BYTES * numberOfValues;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A thread-safe, size-bounded cache of smoothed frequency responses, keyed by
+ * trace ID and smoothing octave divider, that evicts the least recently used
+ * entries first once the total size of the cached arrays exceeds its limit.
+ */
+public final class SmoothedResponseCache {
+
+    // Default memory limit, which holds a few hundred traces of 64k bins at
+    // two or three smoothing resolutions each.
+    public static final long DEFAULT_MAXIMUM_BYTE_SIZE = 256L * 1024L * 1024L;
+
+    // The cached responses, in least to most recently used order.
+    private final LinkedHashMap< CacheKey, SmoothedResponse > _entries;
+
+    // The memory limit, and the current total size of the cached arrays.
+    private final long _maximumByteSize;
+    private long       _byteSize;
+
+    public SmoothedResponseCache() {
+        this( DEFAULT_MAXIMUM_BYTE_SIZE );
+    }
+
+    public SmoothedResponseCache( final long maximumByteSize ) {
+        _entries = new LinkedHashMap<>( 64, 0.75f, true );
+        _maximumByteSize = maximumByteSize;
+        _byteSize = 0L;
+    }
+
+    public long getMaximumByteSize() {
+        return _maximumByteSize;
+    }
+
+    public synchronized long getByteSize() {
+        return _byteSize;
+    }
+
+    public synchronized int size() {
+        return _entries.size();
+    }
+
+    /**
+     * Returns the cached smoothed response, marking it as recently used.
+     *
+     * @param traceId
+     *            The ID of the trace that was smoothed
+     * @param octaveDivider
+     *            The smoothing octave divider
+     * @return The cached smoothed response, or {@code null} if not cached
+     */
+    public synchronized SmoothedResponse get( final String traceId, final int octaveDivider ) {
+        return _entries.get( new CacheKey( traceId, octaveDivider ) );
+    }
+
+    /**
+     * Caches a smoothed response, replacing any previous one for the same
+     * trace and divider, then evicts the least recently used entries until the
+     * cache fits its memory limit again (always keeping the new entry).
+     *
+     * @param traceId
+     *            The ID of the trace that was smoothed
+     * @param octaveDivider
+     *            The smoothing octave divider
+     * @param smoothedResponse
+     *            The smoothed response to cache
+     */
+    public synchronized void put( final String traceId,
+                                  final int octaveDivider,
+                                  final SmoothedResponse smoothedResponse ) {
+        final CacheKey cacheKey = new CacheKey( traceId, octaveDivider );
+        final SmoothedResponse previousResponse = _entries.put( cacheKey, smoothedResponse );
+        if ( previousResponse != null ) {
+            _byteSize -= previousResponse.getByteSize();
+        }
+        _byteSize += smoothedResponse.getByteSize();
+
+        final Iterator< Map.Entry< CacheKey, SmoothedResponse > > entries = _entries.entrySet()
+                .iterator();
+        while ( ( _byteSize > _maximumByteSize ) && entries.hasNext() ) {
+            final Map.Entry< CacheKey, SmoothedResponse > eldestEntry = entries.next();
+            if ( eldestEntry.getKey().equals( cacheKey ) ) {
+                continue;
+            }
+            _byteSize -= eldestEntry.getValue().getByteSize();
+            entries.remove();
+        }
+    }
+
+    // Drop all smoothed responses for a trace, such as when its raw data
+    // changes or the trace is unloaded.
+    public synchronized void invalidate( final String traceId ) {
+        final Iterator< Map.Entry< CacheKey, SmoothedResponse > > entries = _entries.entrySet()
+                .iterator();
+        while ( entries.hasNext() ) {
+            final Map.Entry< CacheKey, SmoothedResponse > entry = entries.next();
+            if ( entry.getKey()._traceId.equals( traceId ) ) {
+                _byteSize -= entry.getValue().getByteSize();
+                entries.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        _entries.clear();
+        _byteSize = 0L;
+    }
+
+    // Key for a smoothed response, by trace ID and smoothing octave divider.
+    private static final class CacheKey {
+
+        private final String _traceId;
+        private final int    _octaveDivider;
+
+        CacheKey( final String traceId, final int octaveDivider ) {
+            _traceId = traceId;
+            _octaveDivider = octaveDivider;
+        }
+
+        @Override
+        public boolean equals( final Object other ) {
+            if ( this == other ) {
+                return true;
+            }
+            if ( !( other instanceof CacheKey ) ) {
+                return false;
+            }
+
+            final CacheKey otherKey = ( CacheKey ) other;
+            return ( _octaveDivider == otherKey._octaveDivider )
+                    && _traceId.equals( otherKey._traceId );
+        }
+
+        @Override
+        public int hashCode() {
+            return ( 31 * _traceId.hashCode() ) + _octaveDivider;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+import java.util.Arrays;
+
+/**
+ * A streaming histogram of SPL values for auto-ranging, which is fed tile by
+ * tile as a prediction progresses, so that a sensible SPL range is available
+ * at any time without a second pass over the data.
+ * <p>
+ * Values are counted in fixed-width bins over a wide absolute range, so
+ * percentiles are accurate to within a bin width, while the exact minimum and
+ * maximum are tracked separately. Non-finite values are ignored. All methods
+ * are thread-safe, so tiles may be added from several worker threads.
+ */
+public final class SplHistogram {
+
+    // The absolute SPL limits of the histogram, and the width of its bins,
+    // in dB; values outside the limits are counted in the end bins.
+    public static final double SPL_MINIMUM_DB = -100.0d;
+    public static final double SPL_MAXIMUM_DB = 200.0d;
+    public static final double BIN_WIDTH_DB   = 0.25d;
+
+    // The number of bins that cover the absolute SPL limits.
+    private static final int   NUMBER_OF_BINS = ( int ) ( ( SPL_MAXIMUM_DB - SPL_MINIMUM_DB )
+            / BIN_WIDTH_DB );
+
+    // The count of values in each bin.
+    private final long[] _binCounts;
+
+    // The total count, and the exact extremes, of the values added so far.
+    private long         _count;
+    private double       _minimumDb;
+    private double       _maximumDb;
+
+    public SplHistogram() {
+        _binCounts = new long[ NUMBER_OF_BINS ];
+        reset();
+    }
+
+    // Forget all values, such as at the start of a new prediction.
+    public synchronized void reset() {
+        Arrays.fill( _binCounts, 0L );
+        _count = 0L;
+        _minimumDb = Double.POSITIVE_INFINITY;
+        _maximumDb = Double.NEGATIVE_INFINITY;
+    }
+
+    public synchronized long getCount() {
+        return _count;
+    }
+
+    // Get the smallest value so far, or NaN if there are none.
+    public synchronized double getMinimumDb() {
+        return ( _count > 0L ) ? _minimumDb : Double.NaN;
+    }
+
+    // Get the largest value so far, or NaN if there are none.
+    public synchronized double getMaximumDb() {
+        return ( _count > 0L ) ? _maximumDb : Double.NaN;
+    }
+
+    /**
+     * Adds a tile of SPL values to the histogram.
+     *
+     * @param splValues
+     *            The SPL values, in dB
+     * @param splOffset
+     *            The index of the tile's first SPL value
+     * @param splScanlineStride
+     *            The distance between rows of the tile in the SPL values
+     * @param width
+     *            The tile width, in cells
+     * @param height
+     *            The tile height, in cells
+     */
+    public synchronized void addTile( final double[] splValues,
+                                      final int splOffset,
+                                      final int splScanlineStride,
+                                      final int width,
+                                      final int height ) {
+        final double binsPerDb = 1.0d / BIN_WIDTH_DB;
+        final int maximumBin = NUMBER_OF_BINS - 1;
+        for ( int row = 0; row < height; row++ ) {
+            final int rowOffset = splOffset + ( row * splScanlineStride );
+            for ( int i = rowOffset, rowEnd = rowOffset + width; i < rowEnd; i++ ) {
+                final double splDb = splValues[ i ];
+                if ( Double.isNaN( splDb ) || Double.isInfinite( splDb ) ) {
+                    continue;
+                }
+
+                final int bin = ( int ) ( ( splDb - SPL_MINIMUM_DB ) * binsPerDb );
+                _binCounts[ Math.max( 0, Math.min( maximumBin, bin ) ) ]++;
+                _minimumDb = Math.min( _minimumDb, splDb );
+                _maximumDb = Math.max( _maximumDb, splDb );
+                _count++;
+            }
+        }
+    }
+
+    /**
+     * Returns the SPL value below which the given fraction of values lie. A
+     * fraction of zero or one returns the exact minimum or maximum.
+     *
+     * @param fraction
+     *            The fraction of values, from 0 to 1
+     * @return The percentile value, in dB, or NaN if there are no values
+     */
+    public synchronized double getPercentileDb( final double fraction ) {
+        if ( _count == 0L ) {
+            return Double.NaN;
+        }
+        if ( fraction <= 0.0d ) {
+            return _minimumDb;
+        }
+        if ( fraction >= 1.0d ) {
+            return _maximumDb;
+        }
+
+        // Find the bin holding the target rank, and interpolate within it.
+        final double targetRank = fraction * _count;
+        long cumulativeCount = 0L;
+        for ( int bin = 0; bin < NUMBER_OF_BINS; bin++ ) {
+            final long binCount = _binCounts[ bin ];
+            if ( ( cumulativeCount + binCount ) >= targetRank ) {
+                final double binFraction = ( targetRank - cumulativeCount ) / binCount;
+                final double percentileDb = SPL_MINIMUM_DB
+                        + ( ( bin + binFraction ) * BIN_WIDTH_DB );
+                return Math.max( _minimumDb, Math.min( _maximumDb, percentileDb ) );
+            }
+            cumulativeCount += binCount;
+        }
+
+        return _maximumDb;
+    }
+
+    /**
+     * Returns the SPL range that spans the given percentiles, rounded up to a
+     * whole number of increments and clamped to the given limits.
+     *
+     * @param lowerFraction
+     *            The fraction of values to leave below the range
+     * @param upperFraction
+     *            The fraction of values to include up to the top of the range
+     * @param splRangeDbMinimum
+     *            The smallest SPL range to return, in dB
+     * @param splRangeDbMaximum
+     *            The largest SPL range to return, in dB
+     * @param splRangeDbIncrement
+     *            The SPL range increment, in dB
+     * @return The SPL range, in dB, or -1 if there are no values yet
+     */
+    public synchronized int getSplRangeDb( final double lowerFraction,
+                                           final double upperFraction,
+                                           final int splRangeDbMinimum,
+                                           final int splRangeDbMaximum,
+                                           final int splRangeDbIncrement ) {
+        if ( _count == 0L ) {
+            return -1;
+        }
+
+        final double spanDb = getPercentileDb( upperFraction ) - getPercentileDb( lowerFraction );
+        final int numberOfIncrements = ( int ) Math.ceil( spanDb / splRangeDbIncrement );
+        final int splRangeDb = numberOfIncrements * splRangeDbIncrement;
+        return Math.max( splRangeDbMinimum, Math.min( splRangeDbMaximum, splRangeDb ) );
+    }
+}
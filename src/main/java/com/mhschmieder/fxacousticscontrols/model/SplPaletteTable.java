@@ -0,0 +1,218 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+/**
+ * An immutable SPL palette lookup table, mapping SPL values within a given
+ * range below the top of the palette to packed ARGB colors.
+ * <p>
+ * SPL values are first scaled to levels of 1/256 dB above the bottom of the
+ * range, and each color covers a whole number of levels, so the color bands
+ * of every SPL Palette Resolution start exactly on level boundaries. For the
+ * dB resolutions, this gives exact 1, 2 or 3 dB bands, with a partial band at
+ * the top when the range is not a multiple of the resolution.
+ * <p>
+ * The color index is computed with a scale, a clamp and an integer division,
+ * without any branches, so mapping a whole SPL grid is a table lookup per cell
+ * and does not allocate.
+ */
+public final class SplPaletteTable {
+
+    // The number of levels per dB, which every color band is a multiple of.
+    public static final int LEVELS_PER_DB = 256;
+
+    // The packed ARGB colors, from the bottom to the top of the SPL range.
+    private final int[]  _colors;
+
+    // The SPL range covered by the palette, in dB.
+    private final int    _splRangeDb;
+
+    // The number of levels covered by each color, and the highest valid level
+    // and color index.
+    private final int    _levelsPerColor;
+    private final int    _maximumLevel;
+    private final int    _maximumColorIndex;
+
+    /**
+     * Makes a palette table whose colors each cover the same number of levels,
+     * starting from the bottom of the SPL range.
+     *
+     * @param colors
+     *            The packed ARGB colors, from the bottom to the top of the range
+     * @param splRangeDb
+     *            The SPL range covered by the palette, in dB
+     * @param levelsPerColor
+     *            The number of levels (of 1/256 dB) covered by each color
+     */
+    public SplPaletteTable( final int[] colors,
+                            final int splRangeDb,
+                            final int levelsPerColor ) {
+        _colors = colors.clone();
+        _splRangeDb = splRangeDb;
+        _levelsPerColor = Math.max( 1, levelsPerColor );
+        _maximumLevel = ( splRangeDb * LEVELS_PER_DB ) - 1;
+        _maximumColorIndex = colors.length - 1;
+    }
+
+    public int getColorCount() {
+        return _colors.length;
+    }
+
+    public int getSplRangeDb() {
+        return _splRangeDb;
+    }
+
+    public int getLevelsPerColor() {
+        return _levelsPerColor;
+    }
+
+    public int getArgb( final int colorIndex ) {
+        return _colors[ colorIndex ];
+    }
+
+    // Get a copy of the colors, from the bottom to the top of the SPL range.
+    public int[] copyColors() {
+        return _colors.clone();
+    }
+
+    /**
+     * Returns the level for an SPL value, clamped to the palette so that
+     * values below the range (and NaN values) get the bottom level and values
+     * above the range get the top level.
+     *
+     * @param splDb
+     *            The SPL value, in dB
+     * @param splTopDb
+     *            The SPL value at the top of the palette, in dB
+     * @return The level, in 1/256 dB above the bottom of the range
+     */
+    public int toLevel( final double splDb, final double splTopDb ) {
+        final double splBottomDb = splTopDb - _splRangeDb;
+        final int level = ( int ) ( ( splDb - splBottomDb ) * LEVELS_PER_DB );
+        return Math.max( 0, Math.min( _maximumLevel, level ) );
+    }
+
+    // Get the color index of a level, which must not be negative.
+    public int getLevelColorIndex( final int level ) {
+        return Math.min( _maximumColorIndex, level / _levelsPerColor );
+    }
+
+    // Get the color of a level, which must not be negative.
+    public int getLevelArgb( final int level ) {
+        return _colors[ getLevelColorIndex( level ) ];
+    }
+
+    /**
+     * Returns the color index for an SPL value, clamped to the palette so that
+     * values below the range (and NaN values) get the bottom color and values
+     * above the range get the top color.
+     *
+     * @param splDb
+     *            The SPL value, in dB
+     * @param splTopDb
+     *            The SPL value at the top of the palette, in dB
+     * @return The color index
+     */
+    public int toColorIndex( final double splDb, final double splTopDb ) {
+        return getLevelColorIndex( toLevel( splDb, splTopDb ) );
+    }
+
+    public int toArgb( final double splDb, final double splTopDb ) {
+        return _colors[ toColorIndex( splDb, splTopDb ) ];
+    }
+
+    /**
+     * Maps a run of SPL values to packed ARGB colors.
+     *
+     * @param splValues
+     *            The SPL values, in dB
+     * @param splOffset
+     *            The index of the first SPL value to map
+     * @param numberOfValues
+     *            The number of SPL values to map
+     * @param splTopDb
+     *            The SPL value at the top of the palette, in dB
+     * @param argbValues
+     *            The array to write the packed ARGB colors to
+     * @param argbOffset
+     *            The index of the first color to write
+     */
+    public void toArgb( final double[] splValues,
+                        final int splOffset,
+                        final int numberOfValues,
+                        final double splTopDb,
+                        final int[] argbValues,
+                        final int argbOffset ) {
+        // NOTE: The level is computed exactly as in toLevel(), so that a bulk
+        // mapping always agrees with a mapping of single values.
+        final int[] colors = _colors;
+        final int levelsPerColor = _levelsPerColor;
+        final int maximumLevel = _maximumLevel;
+        final int maximumColorIndex = _maximumColorIndex;
+        final double splBottomDb = splTopDb - _splRangeDb;
+        for ( int i = 0; i < numberOfValues; i++ ) {
+            final int level = ( int ) ( ( splValues[ splOffset + i ] - splBottomDb )
+                    * LEVELS_PER_DB );
+            final int colorIndex = Math.max( 0, Math.min( maximumLevel, level ) )
+                    / levelsPerColor;
+            argbValues[ argbOffset + i ] = colors[ Math.min( maximumColorIndex, colorIndex ) ];
+        }
+    }
+
+    /**
+     * Maps a run of unsigned 16-bit levels, such as those of a quantized SPL
+     * grid for the same SPL range, to packed ARGB colors.
+     *
+     * @param levels
+     *            The levels, which are unsigned, in 1/256 dB
+     * @param levelOffset
+     *            The index of the first level to map
+     * @param numberOfLevels
+     *            The number of levels to map
+     * @param argbValues
+     *            The array to write the packed ARGB colors to
+     * @param argbOffset
+     *            The index of the first color to write
+     */
+    public void toArgb( final short[] levels,
+                        final int levelOffset,
+                        final int numberOfLevels,
+                        final int[] argbValues,
+                        final int argbOffset ) {
+        final int[] colors = _colors;
+        final int levelsPerColor = _levelsPerColor;
+        final int maximumColorIndex = _maximumColorIndex;
+        for ( int i = 0; i < numberOfLevels; i++ ) {
+            final int colorIndex = ( levels[ levelOffset + i ] & 0xFFFF ) / levelsPerColor;
+            argbValues[ argbOffset + i ] = colors[ Math.min( maximumColorIndex, colorIndex ) ];
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+import com.mhschmieder.jacoustics.SplPaletteResolution;
+import org.apache.commons.math3.util.FastMath;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.DoubleToIntFunction;
+
+/**
+ * A process-wide cache of immutable SPL palette lookup tables, keyed by SPL
+ * Palette Resolution and SPL range, using a "jet" style colormap that runs
+ * from dark blue at the bottom of the range to dark red at the top.
+ * <p>
+ * Tables for other color ramps can be made on request, but are not cached, as
+ * there is no way to tell whether two ramps produce the same colors.
+ */
+public final class SplPaletteTables {
+
+    // The limits and increment of the SPL range, in dB, as offered by the SPL
+    // Range spinner when the extended range is in use.
+    public static final int SPL_RANGE_DB_MINIMUM   = 3;
+    public static final int SPL_RANGE_DB_MAXIMUM   = 120;
+    public static final int SPL_RANGE_DB_INCREMENT = 3;
+
+    // The default color ramp, from dark blue at 0 to dark red at 1.
+    public static final DoubleToIntFunction JET_COLOR_RAMP = SplPaletteTables::getJetArgb;
+
+    // The lazily computed tables, indexed by resolution and then SPL range.
+    private static final AtomicReferenceArray< SplPaletteTable > PALETTE_TABLES =
+            new AtomicReferenceArray<>( SplPaletteResolution.values().length
+                    * ( SPL_RANGE_DB_MAXIMUM + 1 ) );
+
+    /**
+     * The default constructor is disabled, as this is a static cache class.
+     */
+    private SplPaletteTables() {}
+
+    /**
+     * Returns the shared palette table for the given SPL Palette Resolution
+     * and SPL range, computing it on first use. Ranges outside the supported
+     * limits are still honored, but not cached.
+     *
+     * @param splPaletteResolution
+     *            The SPL Palette Resolution
+     * @param splRangeDb
+     *            The SPL range covered by the palette, in dB
+     * @return The shared palette table
+     */
+    public static SplPaletteTable getPaletteTable( final SplPaletteResolution splPaletteResolution,
+                                                   final int splRangeDb ) {
+        if ( ( splRangeDb < 1 ) || ( splRangeDb > SPL_RANGE_DB_MAXIMUM ) ) {
+            return makePaletteTable( splPaletteResolution,
+                                     FastMath.max( 1, splRangeDb ),
+                                     JET_COLOR_RAMP );
+        }
+
+        final int tableIndex = ( splPaletteResolution.ordinal() * ( SPL_RANGE_DB_MAXIMUM + 1 ) )
+                + splRangeDb;
+        final SplPaletteTable cachedTable = PALETTE_TABLES.get( tableIndex );
+        if ( cachedTable != null ) {
+            return cachedTable;
+        }
+
+        // NOTE: If two threads race to make the same table, the first one
+        // wins and the other one's (identical) table is discarded.
+        final SplPaletteTable paletteTable = makePaletteTable( splPaletteResolution,
+                                                               splRangeDb,
+                                                               JET_COLOR_RAMP );
+        return PALETTE_TABLES.compareAndSet( tableIndex, null, paletteTable )
+            ? paletteTable
+            : PALETTE_TABLES.get( tableIndex );
+    }
+
+    /**
+     * Makes a palette table for the given SPL Palette Resolution and SPL range
+     * that takes its colors from a caller-supplied color ramp. The table is not
+     * cached, so callers should hold on to it for as long as the ramp is used.
+     *
+     * @param splPaletteResolution
+     *            The SPL Palette Resolution
+     * @param splRangeDb
+     *            The SPL range covered by the palette, in dB
+     * @param colorRamp
+     *            The color ramp, mapping a position from 0 at the bottom of the
+     *            range to 1 at the top to a packed, opaque ARGB color
+     * @return A new palette table
+     */
+    public static SplPaletteTable getPaletteTable( final SplPaletteResolution splPaletteResolution,
+                                                   final int splRangeDb,
+                                                   final DoubleToIntFunction colorRamp ) {
+        return makePaletteTable( splPaletteResolution, FastMath.max( 1, splRangeDb ), colorRamp );
+    }
+
+    /**
+     * Returns the number of colors in a palette, which is fixed for the color
+     * count resolutions and follows the SPL range for the dB resolutions, with
+     * a partial band at the top when the range is not a multiple of the
+     * resolution.
+     *
+     * @param splPaletteResolution
+     *            The SPL Palette Resolution
+     * @param splRangeDb
+     *            The SPL range covered by the palette, in dB
+     * @return The number of colors in the palette
+     */
+    public static int getColorCount( final SplPaletteResolution splPaletteResolution,
+                                     final int splRangeDb ) {
+        switch ( splPaletteResolution ) {
+        case RES_256:
+            return 256;
+        case RES_64:
+            return 64;
+        case RES_1DB:
+            return splRangeDb;
+        case RES_2DB:
+            return ( splRangeDb + 1 ) / 2;
+        case RES_3DB:
+            return ( splRangeDb + 2 ) / 3;
+        default:
+            return 64;
+        }
+    }
+
+    /**
+     * Returns the number of levels (of 1/256 dB) covered by each color of a
+     * palette, which spreads the colors evenly over the SPL range for the color
+     * count resolutions and is exactly 1, 2 or 3 dB for the dB resolutions.
+     *
+     * @param splPaletteResolution
+     *            The SPL Palette Resolution
+     * @param splRangeDb
+     *            The SPL range covered by the palette, in dB
+     * @return The number of levels covered by each color
+     */
+    public static int getLevelsPerColor( final SplPaletteResolution splPaletteResolution,
+                                         final int splRangeDb ) {
+        // NOTE: There are 256 levels per dB, so the color count resolutions
+        // always divide the range into a whole number of levels per color.
+        switch ( splPaletteResolution ) {
+        case RES_256:
+            return ( splRangeDb * SplPaletteTable.LEVELS_PER_DB ) / 256;
+        case RES_64:
+            return ( splRangeDb * SplPaletteTable.LEVELS_PER_DB ) / 64;
+        case RES_1DB:
+            return SplPaletteTable.LEVELS_PER_DB;
+        case RES_2DB:
+            return 2 * SplPaletteTable.LEVELS_PER_DB;
+        case RES_3DB:
+            return 3 * SplPaletteTable.LEVELS_PER_DB;
+        default:
+            return ( splRangeDb * SplPaletteTable.LEVELS_PER_DB ) / 64;
+        }
+    }
+
+    /**
+     * Returns the packed, opaque ARGB color of the jet colormap at the given
+     * position, which runs from dark blue at 0 through cyan, green and yellow
+     * to dark red at 1.
+     *
+     * @param position
+     *            The position in the colormap, from 0 to 1
+     * @return The packed ARGB color
+     */
+    public static int getJetArgb( final double position ) {
+        final double x = FastMath.max( 0.0d, FastMath.min( 1.0d, position ) );
+        final int red = toColorComponent( 1.5d - FastMath.abs( ( 4.0d * x ) - 3.0d ) );
+        final int green = toColorComponent( 1.5d - FastMath.abs( ( 4.0d * x ) - 2.0d ) );
+        final int blue = toColorComponent( 1.5d - FastMath.abs( ( 4.0d * x ) - 1.0d ) );
+        return 0xFF000000 | ( red << 16 ) | ( green << 8 ) | blue;
+    }
+
+    private static int toColorComponent( final double value ) {
+        return ( int ) FastMath.round( 255.0d * FastMath.max( 0.0d, FastMath.min( 1.0d, value ) ) );
+    }
+
+    private static SplPaletteTable makePaletteTable( final SplPaletteResolution splPaletteResolution,
+                                                     final int splRangeDb,
+                                                     final DoubleToIntFunction colorRamp ) {
+        // Sample the color ramp at the middle of each color's band, so that
+        // the bottom and top colors are equally far from the ends of the ramp,
+        // and a partial top band gets the color at the middle of its share.
+        final int numberOfColors = FastMath.max( 1, getColorCount( splPaletteResolution,
+                                                                   splRangeDb ) );
+        final int levelsPerColor = getLevelsPerColor( splPaletteResolution, splRangeDb );
+        final double numberOfLevels = splRangeDb * SplPaletteTable.LEVELS_PER_DB;
+        final int[] colors = new int[ numberOfColors ];
+        for ( int i = 0; i < numberOfColors; i++ ) {
+            final double bandBottom = i * levelsPerColor;
+            final double bandTop = FastMath.min( numberOfLevels, ( i + 1.0d ) * levelsPerColor );
+            colors[ i ] = colorRamp.applyAsInt( ( 0.5d * ( bandBottom + bandTop ) )
+                    / numberOfLevels );
+        }
+
+        return new SplPaletteTable( colors, splRangeDb, levelsPerColor );
+    }
+}
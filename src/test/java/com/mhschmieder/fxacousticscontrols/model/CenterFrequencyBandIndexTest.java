@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link CenterFrequencyBandIndex}, checking both the regular
+ * grid and binary search lookups against a brute-force search.
+ */
+public final class CenterFrequencyBandIndexTest {
+
+    @Test
+    public void regularGridMatchesBruteForce() {
+        final double[] centerFrequencies = makeFractionalOctaveGrid( 3, 31 );
+        final CenterFrequencyBandIndex bandIndex = new CenterFrequencyBandIndex( centerFrequencies );
+        assertTrue( bandIndex.isRegularGrid() );
+        assertNearestMatchesBruteForce( bandIndex, centerFrequencies );
+    }
+
+    @Test
+    public void irregularGridMatchesBruteForce() {
+        // The high frequency linear steps make the grid irregular.
+        final double[] centerFrequencies = CenterFrequencyBandIndex
+                .mergeSorted( makeFractionalOctaveGrid( 3, 31 ),
+                              CenterFrequencyBandIndex
+                                      .makeLinearSteps( 10000.0d, 20000.0d, 1000.0d ) );
+        final CenterFrequencyBandIndex bandIndex = new CenterFrequencyBandIndex( centerFrequencies );
+        assertFalse( bandIndex.isRegularGrid() );
+        assertNearestMatchesBruteForce( bandIndex, centerFrequencies );
+    }
+
+    @Test
+    public void nearestIndexClampsToTheEnds() {
+        final double[] centerFrequencies = makeFractionalOctaveGrid( 6, 61 );
+        final CenterFrequencyBandIndex bandIndex = new CenterFrequencyBandIndex( centerFrequencies );
+        assertEquals( 0, bandIndex.nearestIndexOf( 1.0d ) );
+        assertEquals( 0, bandIndex.nearestIndexOf( -5.0d ) );
+        assertEquals( centerFrequencies.length - 1, bandIndex.nearestIndexOf( 1.0e6d ) );
+    }
+
+    @Test
+    public void indexOfOnlyMatchesWithinTolerance() {
+        final double[] centerFrequencies = makeFractionalOctaveGrid( 12, 121 );
+        final CenterFrequencyBandIndex bandIndex = new CenterFrequencyBandIndex( centerFrequencies );
+        for ( int i = 0; i < centerFrequencies.length; i++ ) {
+            assertEquals( i, bandIndex.indexOf( centerFrequencies[ i ] ) );
+            assertEquals( i, bandIndex.indexOf( centerFrequencies[ i ] * ( 1.0d + 1.0e-12d ) ) );
+            assertEquals( -1, bandIndex.indexOf( centerFrequencies[ i ] * ( 1.0d + 1.0e-6d ) ) );
+        }
+    }
+
+    @Test
+    public void emptyIndexFindsNothing() {
+        final CenterFrequencyBandIndex bandIndex = new CenterFrequencyBandIndex( new double[ 0 ] );
+        assertEquals( -1, bandIndex.nearestIndexOf( 1000.0d ) );
+        assertEquals( -1, bandIndex.indexOf( 1000.0d ) );
+    }
+
+    @Test
+    public void nanFindsNothing() {
+        final CenterFrequencyBandIndex bandIndex = new CenterFrequencyBandIndex(
+                makeFractionalOctaveGrid( 3, 31 ) );
+        assertEquals( -1, bandIndex.nearestIndexOf( Double.NaN ) );
+    }
+
+    @Test
+    public void mergeSortedDropsDuplicates() {
+        final double[] merged = CenterFrequencyBandIndex
+                .mergeSorted( new double[] { 100.0d, 200.0d, 400.0d },
+                              new double[] { 200.0d * ( 1.0d + 1.0e-12d ), 300.0d, 500.0d } );
+        assertArrayEquals( new double[] { 100.0d, 200.0d, 300.0d, 400.0d, 500.0d }, merged );
+    }
+
+    // Make a base-2 fractional octave grid, starting at 20 Hz.
+    private static double[] makeFractionalOctaveGrid( final int octaveDivider,
+                                                      final int numberOfBands ) {
+        final double[] centerFrequencies = new double[ numberOfBands ];
+        for ( int i = 0; i < numberOfBands; i++ ) {
+            centerFrequencies[ i ] = 20.0d * Math.pow( 2.0d, ( double ) i / octaveDivider );
+        }
+        return centerFrequencies;
+    }
+
+    private static void assertNearestMatchesBruteForce( final CenterFrequencyBandIndex bandIndex,
+                                                        final double[] centerFrequencies ) {
+        final Random random = new Random( 1L );
+        for ( int trial = 0; trial < 10000; trial++ ) {
+            final double frequency = 10.0d * Math.pow( 2500.0d, random.nextDouble() );
+            int nearestIndex = 0;
+            for ( int i = 1; i < centerFrequencies.length; i++ ) {
+                if ( Math.abs( centerFrequencies[ i ] - frequency ) < Math
+                        .abs( centerFrequencies[ nearestIndex ] - frequency ) ) {
+                    nearestIndex = i;
+                }
+            }
+            assertEquals( nearestIndex, bandIndex.nearestIndexOf( frequency ) );
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link DitheringEngine}, checking that seeded dithering is
+ * reproducible whatever the thread count, and stays within its bounds.
+ */
+public final class DitheringEngineTest {
+
+    // Enough sources that the engine dithers them in parallel.
+    private static final int SOURCE_COUNT      = 5000;
+    private static final int VALUES_PER_SOURCE = 5;
+
+    @Test
+    public void sameSeedGivesIdenticalResults() {
+        final double[] values = makeValues();
+        final double[] ditheredValues1 = new double[ values.length ];
+        final double[] ditheredValues2 = new double[ values.length ];
+        new DitheringEngine( 42L )
+                .ditherRelative( values, SOURCE_COUNT, VALUES_PER_SOURCE, 0.05d, ditheredValues1 );
+        new DitheringEngine( 42L )
+                .ditherRelative( values, SOURCE_COUNT, VALUES_PER_SOURCE, 0.05d, ditheredValues2 );
+        assertArrayEquals( ditheredValues1, ditheredValues2 );
+    }
+
+    @Test
+    public void resultsDoNotDependOnTheThreadCount() throws Exception {
+        final double[] values = makeValues();
+        final DitheringEngine ditheringEngine = new DitheringEngine( 7L );
+        final double[] parallelValues = new double[ values.length ];
+        ditheringEngine.ditherAbsolute( values,
+                                        SOURCE_COUNT,
+                                        VALUES_PER_SOURCE,
+                                        0.5d,
+                                        parallelValues );
+
+        // NOTE: Parallel streams run in the pool of the calling worker, so
+        // this dithers the same sources on a single thread.
+        final double[] sequentialValues = new double[ values.length ];
+        final ForkJoinPool singleThreadPool = new ForkJoinPool( 1 );
+        try {
+            singleThreadPool.submit( () -> ditheringEngine.ditherAbsolute( values,
+                                                                          SOURCE_COUNT,
+                                                                          VALUES_PER_SOURCE,
+                                                                          0.5d,
+                                                                          sequentialValues ) )
+                    .get();
+        }
+        finally {
+            singleThreadPool.shutdown();
+        }
+
+        assertArrayEquals( parallelValues, sequentialValues );
+    }
+
+    @Test
+    public void sourcesDoNotDependOnTheSourceCount() {
+        final double[] values = makeValues();
+        final DitheringEngine ditheringEngine = new DitheringEngine();
+        final double[] allValues = new double[ values.length ];
+        ditheringEngine.ditherRelative( values, SOURCE_COUNT, VALUES_PER_SOURCE, 0.1d, allValues );
+
+        final int fewSourceCount = 10;
+        final double[] fewValues = new double[ fewSourceCount * VALUES_PER_SOURCE ];
+        ditheringEngine.ditherRelative( values, fewSourceCount, VALUES_PER_SOURCE, 0.1d, fewValues );
+        assertArrayEquals( Arrays.copyOf( allValues, fewValues.length ), fewValues );
+    }
+
+    @Test
+    public void differentSeedsGiveDifferentResults() {
+        final double[] values = makeValues();
+        final double[] ditheredValues1 = new double[ values.length ];
+        final double[] ditheredValues2 = new double[ values.length ];
+        new DitheringEngine( 1L )
+                .ditherRelative( values, SOURCE_COUNT, VALUES_PER_SOURCE, 0.05d, ditheredValues1 );
+        new DitheringEngine( 2L )
+                .ditherRelative( values, SOURCE_COUNT, VALUES_PER_SOURCE, 0.05d, ditheredValues2 );
+        assertFalse( Arrays.equals( ditheredValues1, ditheredValues2 ) );
+    }
+
+    @Test
+    public void relativeDitheringStaysWithinItsAmount() {
+        final double[] values = makeValues();
+        final double[] ditheredValues = new double[ values.length ];
+        new DitheringEngine()
+                .ditherRelative( values, SOURCE_COUNT, VALUES_PER_SOURCE, 0.05d, ditheredValues );
+        for ( int i = 0; i < values.length; i++ ) {
+            assertTrue( ditheredValues[ i ] >= ( values[ i ] * 0.95d ) );
+            assertTrue( ditheredValues[ i ] < ( values[ i ] * 1.05d ) );
+        }
+    }
+
+    @Test
+    public void absoluteDitheringStaysWithinItsAmount() {
+        final double[] values = makeValues();
+        final double[] ditheredValues = new double[ values.length ];
+        new DitheringEngine()
+                .ditherAbsolute( values, SOURCE_COUNT, VALUES_PER_SOURCE, 0.25d, ditheredValues );
+        for ( int i = 0; i < values.length; i++ ) {
+            assertTrue( ditheredValues[ i ] >= ( values[ i ] - 0.25d ) );
+            assertTrue( ditheredValues[ i ] < ( values[ i ] + 0.25d ) );
+        }
+    }
+
+    @Test
+    public void dithersInPlace() {
+        final double[] values = makeValues();
+        final double[] expectedValues = new double[ values.length ];
+        final DitheringEngine ditheringEngine = new DitheringEngine( 3L );
+        ditheringEngine.ditherRelative( values, SOURCE_COUNT, VALUES_PER_SOURCE, 0.05d, expectedValues );
+        ditheringEngine.ditherRelative( values, SOURCE_COUNT, VALUES_PER_SOURCE, 0.05d, values );
+        assertArrayEquals( expectedValues, values );
+    }
+
+    @Test
+    public void rejectsShortArrays() {
+        final double[] values = new double[ 10 ];
+        assertThrows( IllegalArgumentException.class,
+                      () -> new DitheringEngine().ditherRelative( values, 3, 4, 0.05d, values ) );
+        assertThrows( IllegalArgumentException.class,
+                      () -> new DitheringEngine().ditherRelative( values, 2, 0, 0.05d, values ) );
+    }
+
+    // Make positive source parameters, so that relative bounds are ordered.
+    private static double[] makeValues() {
+        final double[] values = new double[ SOURCE_COUNT * VALUES_PER_SOURCE ];
+        for ( int i = 0; i < values.length; i++ ) {
+            values[ i ] = 1.0d + ( i % 97 );
+        }
+        return values;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link FftPlan}, checking the transform against a direct DFT
+ * and the magnitude spectrum of known tones.
+ */
+public final class FftPlanTest {
+
+    @Test
+    public void roundsTheWindowUpToAPowerOfTwo() {
+        final FftPlan fftPlan = new FftPlan( 1000, 48000.0d );
+        assertEquals( 1024, fftPlan.getFftSize() );
+        assertEquals( 1000, fftPlan.getWindowLength() );
+        assertEquals( 513, fftPlan.getBinCount() );
+        assertEquals( 0.0d, fftPlan.getBinFrequency( 0 ), 0.0d );
+        assertEquals( 24000.0d, fftPlan.getBinFrequency( 512 ), 1.0e-9d );
+
+        assertEquals( 1, new FftPlan( 1, 48000.0d ).getFftSize() );
+        assertEquals( 256, new FftPlan( 256, 48000.0d ).getFftSize() );
+    }
+
+    @Test
+    public void transformMatchesDirectDft() {
+        final int fftSize = 64;
+        final Random random = new Random( 10L );
+        final double[] real = new double[ fftSize ];
+        final double[] imaginary = new double[ fftSize ];
+        for ( int i = 0; i < fftSize; i++ ) {
+            real[ i ] = random.nextGaussian();
+            imaginary[ i ] = random.nextGaussian();
+        }
+
+        final double[] expectedReal = new double[ fftSize ];
+        final double[] expectedImaginary = new double[ fftSize ];
+        for ( int k = 0; k < fftSize; k++ ) {
+            for ( int n = 0; n < fftSize; n++ ) {
+                final double angle = ( -2.0d * Math.PI * k * n ) / fftSize;
+                expectedReal[ k ] += ( real[ n ] * Math.cos( angle ) )
+                        - ( imaginary[ n ] * Math.sin( angle ) );
+                expectedImaginary[ k ] += ( real[ n ] * Math.sin( angle ) )
+                        + ( imaginary[ n ] * Math.cos( angle ) );
+            }
+        }
+
+        new FftPlan( fftSize, 48000.0d ).transform( real, imaginary );
+        assertArrayEquals( expectedReal, real, 1.0e-9d );
+        assertArrayEquals( expectedImaginary, imaginary, 1.0e-9d );
+    }
+
+    @Test
+    public void readsBackTheAmplitudeOfABinCenteredTone() {
+        // A tone of amplitude A in a rectangular window of N samples reads
+        // A * N / 2, which is what the coherent gain correction restores.
+        final int windowLength = 1024;
+        final double amplitude = 2.0d;
+        final int toneBin = 64;
+        final FftPlan fftPlan = new FftPlan( windowLength, 48000.0d );
+        final double[] samples = new double[ windowLength ];
+        for ( int i = 0; i < windowLength; i++ ) {
+            samples[ i ] = amplitude * Math.sin( ( 2.0d * Math.PI * toneBin * i ) / windowLength );
+        }
+
+        final double[] magnitudes = new double[ fftPlan.getBinCount() ];
+        fftPlan.getMagnitudeSpectrum( samples, 0, magnitudes );
+        final double expectedMagnitude = 0.5d * amplitude * windowLength;
+        assertEquals( expectedMagnitude, magnitudes[ toneBin ], 1.0e-3d * expectedMagnitude );
+        for ( int bin = 0; bin < magnitudes.length; bin++ ) {
+            if ( Math.abs( bin - toneBin ) > 1 ) {
+                // The Hann window keeps the leakage past the main lobe low.
+                assertTrue( magnitudes[ bin ] < ( 1.0e-3d * expectedMagnitude ) );
+            }
+        }
+        assertEquals( 3000.0d, fftPlan.getBinFrequency( toneBin ), 1.0e-9d );
+    }
+
+    @Test
+    public void readsBackAConstantAtDc() {
+        final FftPlan fftPlan = new FftPlan( 480, 48000.0d );
+        final double[] samples = new double[ 480 ];
+        Arrays.fill( samples, 0.25d );
+        final double[] magnitudes = new double[ fftPlan.getBinCount() ];
+        fftPlan.getMagnitudeSpectrum( samples, 0, magnitudes );
+        assertEquals( 0.25d * 480, magnitudes[ 0 ], 1.0e-9d );
+    }
+
+    @Test
+    public void treatsSamplesOutsideTheCaptureAsZero() {
+        final FftPlan fftPlan = new FftPlan( 100, 48000.0d );
+        final Random random = new Random( 11L );
+        final double[] samples = new double[ 60 ];
+        for ( int i = 0; i < samples.length; i++ ) {
+            samples[ i ] = random.nextGaussian();
+        }
+
+        // The window starts 40 samples before the capture, so it sees the
+        // same samples as a window over an explicitly zero-padded copy.
+        final double[] paddedSamples = new double[ 100 ];
+        System.arraycopy( samples, 0, paddedSamples, 40, samples.length );
+
+        final double[] magnitudes = new double[ fftPlan.getBinCount() ];
+        final double[] paddedMagnitudes = new double[ fftPlan.getBinCount() ];
+        fftPlan.getMagnitudeSpectrum( samples, -40, magnitudes );
+        fftPlan.getMagnitudeSpectrum( paddedSamples, 0, paddedMagnitudes );
+        assertArrayEquals( paddedMagnitudes, magnitudes, 0.0d );
+    }
+
+    @Test
+    public void rejectsInvalidWindowLengths() {
+        assertThrows( IllegalArgumentException.class, () -> new FftPlan( 0, 48000.0d ) );
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link FractionalOctaveSmoother}, checking the single-pass
+ * windowed means against a brute-force average of each window.
+ */
+public final class FractionalOctaveSmootherTest {
+
+    @Test
+    public void matchesBruteForceForAllDividers() {
+        final double[] frequencies = makeLogFrequencies( 2000 );
+        final double[] values = makeRandomValues( frequencies.length, 2L );
+        final FractionalOctaveSmoother smoother = new FractionalOctaveSmoother();
+        final double[] smoothedValues = new double[ frequencies.length ];
+        for ( final int octaveDivider : new int[] { 1, 3, 6, 12, 24, 48, 96 } ) {
+            smoother.smooth( frequencies, values, frequencies.length, octaveDivider, smoothedValues );
+            assertArrayEquals( smoothBruteForce( frequencies, values, octaveDivider ),
+                               smoothedValues,
+                               1.0e-9d );
+        }
+    }
+
+    @Test
+    public void matchesBruteForceForLinearBins() {
+        // FFT bins are linearly spaced, so low bins have sparse windows.
+        final double[] frequencies = new double[ 1024 ];
+        for ( int i = 0; i < frequencies.length; i++ ) {
+            frequencies[ i ] = ( i + 1 ) * 23.4375d;
+        }
+        final double[] values = makeRandomValues( frequencies.length, 3L );
+        final double[] smoothedValues = new double[ frequencies.length ];
+        new FractionalOctaveSmoother().smooth( frequencies, values, frequencies.length, 3, smoothedValues );
+        assertArrayEquals( smoothBruteForce( frequencies, values, 3 ), smoothedValues, 1.0e-9d );
+    }
+
+    @Test
+    public void keepsConstantResponsesConstant() {
+        final double[] frequencies = makeLogFrequencies( 500 );
+        final double[] values = new double[ frequencies.length ];
+        Arrays.fill( values, -12.5d );
+        final double[] smoothedValues = new double[ frequencies.length ];
+        new FractionalOctaveSmoother().smooth( frequencies, values, frequencies.length, 6, smoothedValues );
+        for ( final double smoothedValue : smoothedValues ) {
+            assertEquals( -12.5d, smoothedValue, 1.0e-12d );
+        }
+    }
+
+    @Test
+    public void copiesValuesForNarrowBand() {
+        final double[] frequencies = makeLogFrequencies( 100 );
+        final double[] values = makeRandomValues( frequencies.length, 4L );
+        final double[] smoothedValues = new double[ frequencies.length ];
+        new FractionalOctaveSmoother().smooth( frequencies, values, frequencies.length, 0, smoothedValues );
+        assertArrayEquals( values, smoothedValues );
+    }
+
+    @Test
+    public void smoothsInPlace() {
+        final double[] frequencies = makeLogFrequencies( 800 );
+        final double[] values = makeRandomValues( frequencies.length, 5L );
+        final double[] expectedValues = smoothBruteForce( frequencies, values, 12 );
+        new FractionalOctaveSmoother( 16 ).smooth( frequencies, values, frequencies.length, 12, values );
+        assertArrayEquals( expectedValues, values, 1.0e-9d );
+    }
+
+    private static double[] makeLogFrequencies( final int numberOfBins ) {
+        final double[] frequencies = new double[ numberOfBins ];
+        for ( int i = 0; i < numberOfBins; i++ ) {
+            frequencies[ i ] = 10.0d * Math.pow( 2000.0d, ( double ) i / ( numberOfBins - 1 ) );
+        }
+        return frequencies;
+    }
+
+    private static double[] makeRandomValues( final int numberOfBins, final long seed ) {
+        final Random random = new Random( seed );
+        final double[] values = new double[ numberOfBins ];
+        for ( int i = 0; i < numberOfBins; i++ ) {
+            values[ i ] = ( 100.0d * random.nextDouble() ) - 50.0d;
+        }
+        return values;
+    }
+
+    private static double[] smoothBruteForce( final double[] frequencies,
+                                              final double[] values,
+                                              final int octaveDivider ) {
+        // NOTE: The window edges are computed the same way as in the smoother,
+        // so that bins right on an edge are treated the same.
+        final double halfBandwidthRatio = FractionalOctaveSmoother
+                .getHalfBandwidthRatio( octaveDivider );
+        final double inverseHalfBandwidthRatio = 1.0d / halfBandwidthRatio;
+        final double[] smoothedValues = new double[ frequencies.length ];
+        for ( int i = 0; i < frequencies.length; i++ ) {
+            final double lowerFrequency = frequencies[ i ] * inverseHalfBandwidthRatio;
+            final double upperFrequency = frequencies[ i ] * halfBandwidthRatio;
+            double sum = 0.0d;
+            int count = 0;
+            for ( int j = 0; j < frequencies.length; j++ ) {
+                if ( ( j == i ) || ( ( frequencies[ j ] >= lowerFrequency )
+                        && ( frequencies[ j ] <= upperFrequency ) ) ) {
+                    sum += values[ j ];
+                    count++;
+                }
+            }
+            smoothedValues[ i ] = sum / count;
+        }
+        return smoothedValues;
+    }
+}
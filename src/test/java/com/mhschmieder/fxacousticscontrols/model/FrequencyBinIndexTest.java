@@ -0,0 +1,201 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link FrequencyBinIndex}, checking the bin lookups at the
+ * edges of the response and of each zoom range, and the column envelopes.
+ */
+public final class FrequencyBinIndexTest {
+
+    // A linear FFT bin layout, as for a 2048-point FFT at 48 kHz.
+    private static final int    BIN_COUNT = 1025;
+    private static final double BIN_WIDTH = 48000.0d / 2048;
+
+    @Test
+    public void findsBinsAtAndAroundExactFrequencies() {
+        final FrequencyBinIndex frequencyBinIndex = makeFrequencyBinIndex();
+        assertEquals( 0, frequencyBinIndex.findBin( 0.0d, false ) );
+        assertEquals( 1, frequencyBinIndex.findBin( 0.0d, true ) );
+        assertEquals( 10, frequencyBinIndex.findBin( 10 * BIN_WIDTH, false ) );
+        assertEquals( 11, frequencyBinIndex.findBin( 10 * BIN_WIDTH, true ) );
+        assertEquals( 11, frequencyBinIndex.findBin( 10.5d * BIN_WIDTH, false ) );
+        assertEquals( 11, frequencyBinIndex.findBin( 10.5d * BIN_WIDTH, true ) );
+    }
+
+    @Test
+    public void findsBinsBeyondTheEnds() {
+        final FrequencyBinIndex frequencyBinIndex = makeFrequencyBinIndex();
+        assertEquals( 0, frequencyBinIndex.findBin( -1.0d, false ) );
+        assertEquals( 0, frequencyBinIndex.findBin( -1.0d, true ) );
+        assertEquals( BIN_COUNT - 1, frequencyBinIndex.findBin( 24000.0d, false ) );
+        assertEquals( BIN_COUNT, frequencyBinIndex.findBin( 24000.0d, true ) );
+        assertEquals( BIN_COUNT, frequencyBinIndex.findBin( 30000.0d, false ) );
+    }
+
+    @Test
+    public void ignoresBinsPastTheBinCount() {
+        final double[] binFrequencies = makeBinFrequencies();
+        final FrequencyBinIndex frequencyBinIndex = new FrequencyBinIndex( binFrequencies,
+                                                                           100,
+                                                                           new double[] { 10.0d },
+                                                                           new double[] { 20000.0d } );
+        assertEquals( 100, frequencyBinIndex.getBinCount() );
+        assertEquals( 100, frequencyBinIndex.findBin( 5000.0d, false ) );
+        assertEquals( 100, frequencyBinIndex.getEndBin( 0 ) );
+    }
+
+    @Test
+    public void includesBinsRightOnTheZoomEdges() {
+        // Both zoom edges fall exactly on bins, which are both visible.
+        final FrequencyBinIndex frequencyBinIndex = new FrequencyBinIndex(
+                makeBinFrequencies(),
+                BIN_COUNT,
+                new double[] { 10.0d, 4 * BIN_WIDTH },
+                new double[] { 20000.0d, 40 * BIN_WIDTH } );
+        assertEquals( 1, frequencyBinIndex.getStartBin( 0 ) );
+        assertEquals( 854, frequencyBinIndex.getEndBin( 0 ) );
+        assertEquals( 4, frequencyBinIndex.getStartBin( 1 ) );
+        assertEquals( 41, frequencyBinIndex.getEndBin( 1 ) );
+        assertEquals( 37, frequencyBinIndex.getVisibleBinCount( 1 ) );
+    }
+
+    @Test
+    public void columnsCoverEachVisibleBinOnce() {
+        final FrequencyBinIndex frequencyBinIndex = makeFrequencyBinIndex();
+        final double[] values = new double[ BIN_COUNT ];
+        final Random random = new Random( 12L );
+        for ( int bin = 0; bin < BIN_COUNT; bin++ ) {
+            values[ bin ] = ( 60.0d * random.nextDouble() ) - 30.0d;
+        }
+
+        final int columnCount = 200;
+        final double[] columnMinima = new double[ columnCount ];
+        final double[] columnMaxima = new double[ columnCount ];
+        frequencyBinIndex.aggregateColumns( 0, columnCount, values, 0, columnMinima, columnMaxima );
+
+        // Check each column against a brute-force scan of the bins whose
+        // frequencies fall within the column on the log-frequency axis.
+        final double logMinimumFrequency = Math.log( frequencyBinIndex.getMinimumFrequency( 0 ) );
+        final double logFrequencyPerColumn = ( Math
+                .log( frequencyBinIndex.getMaximumFrequency( 0 ) ) - logMinimumFrequency )
+                / columnCount;
+        int coveredBinCount = 0;
+        for ( int column = 0; column < columnCount; column++ ) {
+            final int startBin = frequencyBinIndex
+                    .findBin( Math.exp( logMinimumFrequency + ( column * logFrequencyPerColumn ) ),
+                              false );
+            final int endBin = ( column == ( columnCount - 1 ) )
+                ? frequencyBinIndex.getEndBin( 0 )
+                : frequencyBinIndex.findBin( Math.exp( logMinimumFrequency
+                        + ( ( column + 1 ) * logFrequencyPerColumn ) ), false );
+            if ( endBin > startBin ) {
+                double minimum = Double.POSITIVE_INFINITY;
+                double maximum = Double.NEGATIVE_INFINITY;
+                for ( int bin = startBin; bin < endBin; bin++ ) {
+                    minimum = Math.min( minimum, values[ bin ] );
+                    maximum = Math.max( maximum, values[ bin ] );
+                }
+                assertEquals( minimum, columnMinima[ column ], 0.0d );
+                assertEquals( maximum, columnMaxima[ column ], 0.0d );
+                coveredBinCount += endBin - startBin;
+            }
+            else {
+                // Empty columns interpolate between the bins either side.
+                final double lowerValue = values[ startBin - 1 ];
+                final double upperValue = values[ startBin ];
+                assertEquals( columnMinima[ column ], columnMaxima[ column ], 0.0d );
+                assertTrue( columnMinima[ column ] >= Math.min( lowerValue, upperValue ) );
+                assertTrue( columnMinima[ column ] <= Math.max( lowerValue, upperValue ) );
+            }
+        }
+        assertEquals( frequencyBinIndex.getVisibleBinCount( 0 ), coveredBinCount );
+    }
+
+    @Test
+    public void marksColumnsOutsideTheResponseAsNaN() {
+        // The zoom range runs well past the last bin, so the top columns have
+        // no bins and nothing above them to interpolate towards.
+        final FrequencyBinIndex frequencyBinIndex = new FrequencyBinIndex( makeBinFrequencies(),
+                                                                           BIN_COUNT,
+                                                                           new double[] { 10.0d },
+                                                                           new double[] { 96000.0d } );
+        final double[] columnMinima = new double[ 100 ];
+        final double[] columnMaxima = new double[ 100 ];
+        frequencyBinIndex.aggregateColumns( 0,
+                                            100,
+                                            new double[ BIN_COUNT ],
+                                            0,
+                                            columnMinima,
+                                            columnMaxima );
+        assertTrue( Double.isNaN( columnMinima[ 99 ] ) );
+        assertTrue( Double.isNaN( columnMaxima[ 99 ] ) );
+        assertEquals( 0.0d, columnMinima[ 0 ], 0.0d );
+    }
+
+    @Test
+    public void rejectsInvalidLayouts() {
+        assertThrows( IllegalArgumentException.class,
+                      () -> new FrequencyBinIndex( new double[ 10 ],
+                                                   11,
+                                                   new double[ 1 ],
+                                                   new double[ 1 ] ) );
+        assertThrows( IllegalArgumentException.class,
+                      () -> new FrequencyBinIndex( new double[ 10 ],
+                                                   10,
+                                                   new double[ 2 ],
+                                                   new double[ 1 ] ) );
+    }
+
+    private static double[] makeBinFrequencies() {
+        final double[] binFrequencies = new double[ BIN_COUNT ];
+        for ( int bin = 0; bin < BIN_COUNT; bin++ ) {
+            binFrequencies[ bin ] = bin * BIN_WIDTH;
+        }
+        return binFrequencies;
+    }
+
+    // Make an index with just the full 10 Hz to 20 kHz zoom range.
+    private static FrequencyBinIndex makeFrequencyBinIndex() {
+        return new FrequencyBinIndex( makeBinFrequencies(),
+                                      BIN_COUNT,
+                                      new double[] { 10.0d },
+                                      new double[] { 20000.0d } );
+    }
+}
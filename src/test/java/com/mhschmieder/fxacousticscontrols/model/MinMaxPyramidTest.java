@@ -0,0 +1,183 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxAcoustics Library
+ *
+ * You should have received a copy of the MIT License along with the FxAcoustics
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxacoustics
+ */
+package com.mhschmieder.fxacousticscontrols.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link MinMaxPyramid}, checking the column envelopes against
+ * a brute-force scan of the samples.
+ */
+public final class MinMaxPyramidTest {
+
+    @Test
+    public void buildsOneLevelPerHalving() {
+        final MinMaxPyramid minMaxPyramid = new MinMaxPyramid( new double[ 1000 ], 1000, 48000.0d );
+        assertEquals( 11, minMaxPyramid.getLevelCount() );
+        assertEquals( 1000, minMaxPyramid.getLevelLength( 0 ) );
+        assertEquals( 500, minMaxPyramid.getLevelLength( 1 ) );
+        assertEquals( 250, minMaxPyramid.getLevelLength( 2 ) );
+        assertEquals( 125, minMaxPyramid.getLevelLength( 3 ) );
+        assertEquals( 63, minMaxPyramid.getLevelLength( 4 ) );
+        assertEquals( 1, minMaxPyramid.getLevelLength( 10 ) );
+    }
+
+    @Test
+    public void picksTheCoarsestLevelThatFitsAColumn() {
+        final MinMaxPyramid minMaxPyramid = new MinMaxPyramid( new double[ 1000 ], 1000, 48000.0d );
+        assertEquals( 0, minMaxPyramid.getLevelForSamplesPerColumn( 0.5d ) );
+        assertEquals( 0, minMaxPyramid.getLevelForSamplesPerColumn( 1.99d ) );
+        assertEquals( 1, minMaxPyramid.getLevelForSamplesPerColumn( 2.0d ) );
+        assertEquals( 2, minMaxPyramid.getLevelForSamplesPerColumn( 5.0d ) );
+        assertEquals( 10, minMaxPyramid.getLevelForSamplesPerColumn( 1.0e9d ) );
+        assertEquals( 0, minMaxPyramid.getLevelForSamplesPerColumn( Double.NaN ) );
+    }
+
+    @Test
+    public void envelopesBoundTheSamplesOfEachColumn() {
+        final double[] samples = makeNoise( 48000, 6L );
+        final MinMaxPyramid minMaxPyramid = new MinMaxPyramid( samples, samples.length, 48000.0d );
+        final Random random = new Random( 7L );
+        for ( int trial = 0; trial < 200; trial++ ) {
+            final double startSample = random.nextDouble() * 20000.0d;
+            final double endSample = startSample + 1.0d + ( random.nextDouble() * 28000.0d );
+            final int columnCount = 1 + random.nextInt( 1500 );
+            final float[] columnMinima = new float[ columnCount ];
+            final float[] columnMaxima = new float[ columnCount ];
+            minMaxPyramid.getEnvelope( startSample, endSample, columnCount, columnMinima, columnMaxima );
+
+            // The envelope must contain every sample in the column, and may
+            // only extend to the samples of the blocks the column touches.
+            final double samplesPerColumn = ( endSample - startSample ) / columnCount;
+            final int blockSize = 1 << minMaxPyramid.getLevelForSamplesPerColumn( samplesPerColumn );
+            for ( int column = 0; column < columnCount; column++ ) {
+                final double columnStart = startSample + ( column * samplesPerColumn );
+                final double columnEnd = columnStart + samplesPerColumn;
+                final int firstSample = ( int ) Math.floor( columnStart );
+                final int lastSample = Math.max( firstSample, ( int ) Math.ceil( columnEnd ) - 1 );
+                final int firstBlockSample = ( ( int ) Math.floor( columnStart / blockSize ) )
+                        * blockSize;
+                final int lastBlockSample = Math.min( samples.length - 1,
+                                                      ( ( int ) Math.ceil( columnEnd / blockSize )
+                                                              * blockSize ) - 1 );
+                final float[] exactExtents = getExtents( samples, firstSample, lastSample );
+                final float[] blockExtents = getExtents( samples,
+                                                         firstBlockSample,
+                                                         Math.max( lastSample, lastBlockSample ) );
+                assertTrue( columnMinima[ column ] <= exactExtents[ 0 ] );
+                assertTrue( columnMaxima[ column ] >= exactExtents[ 1 ] );
+                assertTrue( columnMinima[ column ] >= blockExtents[ 0 ] );
+                assertTrue( columnMaxima[ column ] <= blockExtents[ 1 ] );
+            }
+        }
+    }
+
+    @Test
+    public void showsEachSampleWhenZoomedIn() {
+        final double[] samples = makeNoise( 100, 8L );
+        final MinMaxPyramid minMaxPyramid = new MinMaxPyramid( samples, samples.length, 48000.0d );
+        final float[] columnMinima = new float[ 40 ];
+        final float[] columnMaxima = new float[ 40 ];
+        minMaxPyramid.getEnvelope( 10.0d, 20.0d, 40, columnMinima, columnMaxima );
+        for ( int column = 0; column < 40; column++ ) {
+            final float sample = ( float ) samples[ 10 + ( column / 4 ) ];
+            assertEquals( sample, columnMinima[ column ] );
+            assertEquals( sample, columnMaxima[ column ] );
+        }
+    }
+
+    @Test
+    public void marksColumnsOutsideTheCaptureAsNaN() {
+        final double[] samples = makeNoise( 1000, 9L );
+        final MinMaxPyramid minMaxPyramid = new MinMaxPyramid( samples, samples.length, 1000.0d );
+        final float[] columnMinima = new float[ 100 ];
+        final float[] columnMaxima = new float[ 100 ];
+
+        // A 100 ms edge either side of the first sample covers 200 samples,
+        // of which the first half are before the capture.
+        minMaxPyramid.getAnalysisTimeEnvelope( 100.0d, 0.0d, 100, columnMinima, columnMaxima );
+        for ( int column = 0; column < 50; column++ ) {
+            assertTrue( Float.isNaN( columnMinima[ column ] ) );
+            assertTrue( Float.isNaN( columnMaxima[ column ] ) );
+        }
+        for ( int column = 50; column < 100; column++ ) {
+            assertTrue( columnMinima[ column ] <= columnMaxima[ column ] );
+        }
+    }
+
+    @Test
+    public void handlesCapturesTooShortToDecimate() {
+        final MinMaxPyramid minMaxPyramid = new MinMaxPyramid( new double[] { 0.5d }, 1, 48000.0d );
+        assertEquals( 1, minMaxPyramid.getLevelCount() );
+        final float[] columnMinima = new float[ 4 ];
+        final float[] columnMaxima = new float[ 4 ];
+        minMaxPyramid.getEnvelope( 0.0d, 1.0d, 4, columnMinima, columnMaxima );
+        assertEquals( 0.5f, columnMinima[ 3 ] );
+        assertEquals( 0.5f, columnMaxima[ 3 ] );
+    }
+
+    @Test
+    public void rejectsInvalidSampleCounts() {
+        assertThrows( IllegalArgumentException.class,
+                      () -> new MinMaxPyramid( new double[ 10 ], 11, 48000.0d ) );
+        assertThrows( IllegalArgumentException.class,
+                      () -> new MinMaxPyramid( new double[ 10 ], -1, 48000.0d ) );
+    }
+
+    private static double[] makeNoise( final int sampleCount, final long seed ) {
+        final Random random = new Random( seed );
+        final double[] samples = new double[ sampleCount ];
+        for ( int i = 0; i < sampleCount; i++ ) {
+            samples[ i ] = random.nextGaussian();
+        }
+        return samples;
+    }
+
+    // Get the minimum and maximum of a run of samples, rounded as the
+    // pyramid rounds them.
+    private static float[] getExtents( final double[] samples,
+                                       final int firstSample,
+                                       final int lastSample ) {
+        float minimum = Float.POSITIVE_INFINITY;
+        float maximum = Float.NEGATIVE_INFINITY;
+        for ( int i = Math.max( 0, firstSample ); i <= Math.min( samples.length - 1, lastSample ); i++ ) {
+            minimum = Math.min( minimum, ( float ) samples[ i ] );
+            maximum = Math.max( maximum, ( float ) samples[ i ] );
+        }
+        return new float[] { minimum, maximum };
+    }
+}